@@ -0,0 +1,139 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class AddressGenerator {
+    public static final long MAX_INDEX = ExtendedPubkey.HARDENED_INDEX_OFFSET;
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    public enum AddressType {
+        P2PKH,
+        P2SH_P2WPKH,
+        P2WPKH,
+        P2TR
+    }
+
+    private final ExtendedPubkey extendedPubkey;
+
+    private final AddressType addressType;
+
+    private final String addressPrefix;
+
+    public AddressGenerator(ExtendedPubkey extendedPubkey, AddressType addressType) {
+        this(extendedPubkey, addressType, null);
+    }
+
+    public AddressGenerator(ExtendedPubkey extendedPubkey, AddressType addressType, String addressPrefix) {
+        this.extendedPubkey = extendedPubkey;
+        this.addressType = addressType;
+        this.addressPrefix = addressPrefix;
+    }
+
+    public String generate(long index) {
+        checkRange(index, index + 1);
+        ExtendedKey child = extendedPubkey.ckd(BigInteger.valueOf(index), false, false, extendedPubkey.getPrefix());
+        return address(child.toPublicKey());
+    }
+
+    public List<String> generate(long from, long to) {
+        return generate(from, to, ForkJoinPool.commonPool());
+    }
+
+    public List<String> generate(long from, long to, ForkJoinPool pool) {
+        checkRange(from, to);
+        List<ExtendedPubkey> children = extendedPubkey.ckdRange(from, to, pool);
+        String[] addresses = new String[children.size()];
+        ParallelLoop.forEach(addresses.length, PARALLEL_THRESHOLD, i -> addresses[i] = address(children.get(i).toPublicKey()), pool);
+        return Arrays.asList(addresses);
+    }
+
+    public Stream<String> stream(long from, long to) {
+        return stream(from, to, ForkJoinPool.commonPool());
+    }
+
+    public Stream<String> stream(long from, long to, ForkJoinPool pool) {
+        checkRange(from, to);
+        return LongStream.iterate(from, start -> start < to, start -> start + CHUNK_SIZE)
+            .boxed()
+            .flatMap(start -> generate(start, Math.min(start + CHUNK_SIZE, to), pool).stream());
+    }
+
+    public Script scriptPubkey(long index) {
+        checkRange(index, index + 1);
+        ExtendedKey child = extendedPubkey.ckd(BigInteger.valueOf(index), false, false, extendedPubkey.getPrefix());
+        return scriptPubkey(child.toPublicKey());
+    }
+
+    public List<Script> scriptPubkeys(long from, long to) {
+        return scriptPubkeys(from, to, ForkJoinPool.commonPool());
+    }
+
+    public List<Script> scriptPubkeys(long from, long to, ForkJoinPool pool) {
+        checkRange(from, to);
+        List<ExtendedPubkey> children = extendedPubkey.ckdRange(from, to, pool);
+        Script[] scripts = new Script[children.size()];
+        ParallelLoop.forEach(scripts.length, PARALLEL_THRESHOLD, i -> scripts[i] = scriptPubkey(children.get(i).toPublicKey()), pool);
+        return Arrays.asList(scripts);
+    }
+
+    public AddressType getAddressType() {
+        return addressType;
+    }
+
+    private String address(PublicKey publicKey) {
+        if (addressPrefix == null) {
+            throw new IllegalStateException("An address prefix is required to generate addresses.");
+        }
+        switch (addressType) {
+            case P2PKH:
+                return publicKey.addressFromCompressedPublicKey(addressPrefix);
+            case P2SH_P2WPKH:
+                return publicKey.nestedSegwitAddressFromCompressedPublicKey(addressPrefix);
+            case P2WPKH:
+                return publicKey.segwitAddressFromCompressedPublicKey(addressPrefix);
+            case P2TR:
+                return taprootOutputKey(publicKey).taprootAddress(addressPrefix);
+            default:
+                throw new IllegalArgumentException("Unsupported address type: ".concat(addressType.name()));
+        }
+    }
+
+    private Script scriptPubkey(PublicKey publicKey) {
+        switch (addressType) {
+            case P2PKH:
+                return Script.p2pkhScript(Hash160.hashToHex(publicKey.getCompressedPublicKey()));
+            case P2SH_P2WPKH:
+                Script redeemScript = Script.p2wpkhScript(Hash160.hashToHex(publicKey.getCompressedPublicKey()));
+                return Script.p2shScript(Hash160.hashToHex(redeemScript.rawToBytes()));
+            case P2WPKH:
+                return Script.p2wpkhScript(Hash160.hashToHex(publicKey.getCompressedPublicKey()));
+            case P2TR:
+                return Script.p2trScript(Hex.toHexString(taprootOutputKey(publicKey).getPoint().getAffineXCoord().getEncoded()));
+            default:
+                throw new IllegalArgumentException("Unsupported address type: ".concat(addressType.name()));
+        }
+    }
+
+    private static PublicKey taprootOutputKey(PublicKey publicKey) {
+        ECPoint point = publicKey.getPoint().normalize();
+        PublicKey internalKey = point.getAffineYCoord().testBitZero() ? new PublicKey(point.negate()) : publicKey;
+        return internalKey.toTaprootSingleKeyOutputKey();
+    }
+
+    private static void checkRange(long from, long to) {
+        if (from < 0 || to > MAX_INDEX || from > to) {
+            throw new IllegalArgumentException("Invalid non-hardened index range: [" + from + ", " + to + ")");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class Block {
+    private static final byte[] WITNESS_COMMITMENT_HEADER = Hex.decodeStrict("6a24aa21a9ed");
+
+    private final BlockHeader header;
+
+    private final List<Transaction> transactions;
+
+    public Block(BlockHeader header, List<Transaction> transactions) {
+        this.header = header;
+        this.transactions = transactions;
+    }
+
+    public static Block fromBytes(byte[] bytes) {
+        return fromBuffer(ByteBuffer.wrap(bytes));
+    }
+
+    public static Block fromBuffer(ByteBuffer block) {
+        List<RawTransaction> rawTransactions = BlockFileReader.readTransactions(block);
+        List<Transaction> transactions = new ArrayList<>(rawTransactions.size());
+        for (RawTransaction rawTransaction : rawTransactions) {
+            transactions.add(rawTransaction.toTransaction());
+        }
+        return new Block(BlockHeader.fromBuffer(block, 0), transactions);
+    }
+
+    public byte[] toBytes() {
+        int size = BlockHeader.SIZE + VarInt.size(transactions.size());
+        for (Transaction transaction : transactions) {
+            size += transaction.getSize();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        header.writeTo(buffer);
+        VarInt.write(buffer, transactions.size());
+        for (Transaction transaction : transactions) {
+            transaction.writeTo(buffer);
+        }
+        return buffer.array();
+    }
+
+    public String serialize() {
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] hash() {
+        return header.hash();
+    }
+
+    public String id() {
+        return header.id();
+    }
+
+    public boolean checkProofOfWork() {
+        return header.checkProofOfWork();
+    }
+
+    public byte[] merkleRoot() {
+        return merkleRoot(ForkJoinPool.commonPool());
+    }
+
+    public byte[] merkleRoot(ForkJoinPool pool) {
+        return MerkleTree.root(transactions, Transaction::txidHash, pool);
+    }
+
+    public boolean checkMerkleRoot() {
+        return checkMerkleRoot(ForkJoinPool.commonPool());
+    }
+
+    public boolean checkMerkleRoot(ForkJoinPool pool) {
+        return Arrays.equals(header.getMerkleRootBytes(), merkleRoot(pool));
+    }
+
+    public byte[] witnessMerkleRoot() {
+        return witnessMerkleRoot(ForkJoinPool.commonPool());
+    }
+
+    public byte[] witnessMerkleRoot(ForkJoinPool pool) {
+        Transaction coinbase = transactions.get(0);
+        return MerkleTree.root(transactions, transaction -> transaction == coinbase ? new byte[32] : transaction.wtxidHash(), pool);
+    }
+
+    public boolean checkWitnessCommitment() {
+        return checkWitnessCommitment(ForkJoinPool.commonPool());
+    }
+
+    public boolean checkWitnessCommitment(ForkJoinPool pool) {
+        Transaction coinbase = transactions.get(0);
+        byte[] commitment = findWitnessCommitment(coinbase);
+        if (commitment == null) {
+            return transactions.stream().noneMatch(Block::hasWitness);
+        }
+        List<Object> coinbaseWitnessItems = coinbase.getInputs().get(0).getWitness().getItems();
+        if (coinbaseWitnessItems.size() != 1 || !(coinbaseWitnessItems.get(0) instanceof String) || ((String) coinbaseWitnessItems.get(0)).length() != 64) {
+            return false;
+        }
+        byte[] witnessReservedValue = Hex.decodeStrict((String) coinbaseWitnessItems.get(0));
+        byte[] preimage = new byte[64];
+        System.arraycopy(witnessMerkleRoot(pool), 0, preimage, 0, 32);
+        System.arraycopy(witnessReservedValue, 0, preimage, 32, 32);
+        return Arrays.equals(commitment, Hash256.hash(preimage));
+    }
+
+    private static byte[] findWitnessCommitment(Transaction coinbase) {
+        byte[] commitment = null;
+        for (TransactionOutput output : coinbase.getOutputs()) {
+            byte[] script = output.getScriptPubkey().rawToBytes();
+            if (script.length >= 38 && Arrays.equals(script, 0, WITNESS_COMMITMENT_HEADER.length, WITNESS_COMMITMENT_HEADER, 0, WITNESS_COMMITMENT_HEADER.length)) {
+                commitment = Arrays.copyOfRange(script, WITNESS_COMMITMENT_HEADER.length, WITNESS_COMMITMENT_HEADER.length + 32);
+            }
+        }
+        return commitment;
+    }
+
+    private static boolean hasWitness(Transaction transaction) {
+        return transaction.getInputs().stream().anyMatch(input -> !input.getWitness().getItems().isEmpty());
+    }
+
+    public BlockHeader getHeader() {
+        return header;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class BlockFileReader implements Iterator<ByteBuffer>, Closeable {
+    public static final String MAINNET_MAGIC = "f9beb4d9";
+    public static final String TESTNET_MAGIC = "0b110907";
+    public static final String SIGNET_MAGIC = "0a03cf40";
+    public static final String REGTEST_MAGIC = "fabfb5da";
+
+    private static final String XOR_KEY_FILE_NAME = "xor.dat";
+
+    private static final int BLOCK_HEADER_SIZE = 80;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer mappedBuffer;
+
+    private final byte[] magic;
+
+    private final byte[] xorKey;
+
+    private int position;
+
+    private ByteBuffer nextBlock;
+
+    public BlockFileReader(Path path) throws IOException {
+        this(path, MAINNET_MAGIC, readXorKey(path.toAbsolutePath().getParent()));
+    }
+
+    public BlockFileReader(Path path, String magic, byte[] xorKey) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        this.magic = Hex.decodeStrict(magic);
+        this.xorKey = isObfuscating(xorKey) ? xorKey : null;
+    }
+
+    public static byte[] readXorKey(Path blocksDirectory) throws IOException {
+        if (blocksDirectory == null) {
+            return null;
+        }
+        Path xorKeyPath = blocksDirectory.resolve(XOR_KEY_FILE_NAME);
+        if (!Files.exists(xorKeyPath)) {
+            return null;
+        }
+        return Files.readAllBytes(xorKeyPath);
+    }
+
+    private static boolean isObfuscating(byte[] xorKey) {
+        if (xorKey == null) {
+            return false;
+        }
+        for (byte keyByte : xorKey) {
+            if (keyByte != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextBlock == null) {
+            nextBlock = readBlock();
+        }
+        return nextBlock != null;
+    }
+
+    @Override
+    public ByteBuffer next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ByteBuffer block = nextBlock;
+        nextBlock = null;
+        return block;
+    }
+
+    private ByteBuffer readBlock() {
+        int remaining = mappedBuffer.limit() - position;
+        if (isZeroPadding(Math.min(remaining, magic.length))) {
+            return null;
+        }
+        if (remaining < 8) {
+            throw new RuntimeException("Malformed block file: truncated block prefix at offset ".concat(String.valueOf(position)));
+        }
+        byte[] prefix = read(position, 8);
+        for (int i = 0; i < magic.length; i++) {
+            if (prefix[i] != magic[i]) {
+                throw new RuntimeException("Malformed block file: unexpected magic at offset ".concat(String.valueOf(position)));
+            }
+        }
+        long blockSize = (prefix[4] & 0xffL) | (prefix[5] & 0xffL) << 8 | (prefix[6] & 0xffL) << 16 | (prefix[7] & 0xffL) << 24;
+        int blockOffset = position + 8;
+        if (blockSize < BLOCK_HEADER_SIZE || blockSize > mappedBuffer.limit() - blockOffset) {
+            throw new RuntimeException("Malformed block file.");
+        }
+        position = blockOffset + (int) blockSize;
+        if (xorKey == null) {
+            return mappedBuffer.slice(blockOffset, (int) blockSize);
+        }
+        return ByteBuffer.wrap(read(blockOffset, (int) blockSize));
+    }
+
+    private boolean isZeroPadding(int length) {
+        for (int i = 0; i < length; i++) {
+            if (mappedBuffer.get(position + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] read(int offset, int length) {
+        byte[] bytes = Bytes.copy(mappedBuffer, offset, length);
+        if (xorKey != null) {
+            for (int i = 0; i < length; i++) {
+                bytes[i] ^= xorKey[(int) ((offset + (long) i) % xorKey.length)];
+            }
+        }
+        return bytes;
+    }
+
+    public static ByteBuffer readHeader(ByteBuffer block) {
+        return block.slice(0, BLOCK_HEADER_SIZE);
+    }
+
+    public static List<RawTransaction> readTransactions(ByteBuffer block) {
+        ByteBuffer transactionsBuffer = block.slice(BLOCK_HEADER_SIZE, block.limit() - BLOCK_HEADER_SIZE);
+        long numTransactions = VarInt.read(transactionsBuffer, 0);
+        transactionsBuffer.position(VarInt.encodedSize(transactionsBuffer, 0));
+        if (numTransactions > transactionsBuffer.remaining()) {
+            throw new RuntimeException("Malformed block.");
+        }
+        List<RawTransaction> transactions = new ArrayList<>((int) numTransactions);
+        for (long i = 0; i < numTransactions; i++) {
+            transactions.add(RawTransaction.parse(transactionsBuffer));
+        }
+        return transactions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
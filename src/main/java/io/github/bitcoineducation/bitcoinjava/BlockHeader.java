@@ -0,0 +1,128 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+public class BlockHeader {
+    public static final int SIZE = 80;
+
+    private final long version;
+
+    private final byte[] previousBlockHash;
+
+    private final byte[] merkleRoot;
+
+    private final long timestamp;
+
+    private final long bits;
+
+    private final long nonce;
+
+    public BlockHeader(long version, String previousBlockId, String merkleRoot, long timestamp, long bits, long nonce) {
+        this(version, Bytes.reverse(Hex.decodeStrict(previousBlockId)), Bytes.reverse(Hex.decodeStrict(merkleRoot)), timestamp, bits, nonce);
+    }
+
+    private BlockHeader(long version, byte[] previousBlockHash, byte[] merkleRoot, long timestamp, long bits, long nonce) {
+        this.version = version;
+        this.previousBlockHash = previousBlockHash;
+        this.merkleRoot = merkleRoot;
+        this.timestamp = timestamp;
+        this.bits = bits;
+        this.nonce = nonce;
+    }
+
+    public static BlockHeader fromBytes(byte[] bytes) {
+        return fromBuffer(ByteBuffer.wrap(bytes), 0);
+    }
+
+    public static BlockHeader fromBuffer(ByteBuffer buffer, int offset) {
+        return new BlockHeader(
+            LittleEndian.readInt(buffer, offset),
+            Bytes.copy(buffer, offset + 4, 32),
+            Bytes.copy(buffer, offset + 36, 32),
+            LittleEndian.readInt(buffer, offset + 68),
+            LittleEndian.readInt(buffer, offset + 72),
+            LittleEndian.readInt(buffer, offset + 76)
+        );
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        LittleEndian.writeInt(buffer, version);
+        buffer.put(previousBlockHash);
+        buffer.put(merkleRoot);
+        LittleEndian.writeInt(buffer, timestamp);
+        LittleEndian.writeInt(buffer, bits);
+        LittleEndian.writeInt(buffer, nonce);
+    }
+
+    public String serialize() {
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] hash() {
+        try (HashingSink sink = HashingSink.get()) {
+            writeTo(sink.scratch(SIZE));
+            return sink.writeScratch().hash256();
+        }
+    }
+
+    public String id() {
+        return Bytes.reverseToHex(hash());
+    }
+
+    public BigInteger target() {
+        int exponent = (int) (bits >>> 24);
+        long mantissa = bits & 0x007fffffL;
+        if ((bits & 0x00800000L) != 0 && mantissa != 0) {
+            throw new IllegalArgumentException("Negative target in bits: ".concat(Long.toHexString(bits)));
+        }
+        if (exponent <= 3) {
+            return BigInteger.valueOf(mantissa >>> (8 * (3 - exponent)));
+        }
+        return BigInteger.valueOf(mantissa).shiftLeft(8 * (exponent - 3));
+    }
+
+    public boolean checkProofOfWork() {
+        BigInteger target = target();
+        if (target.signum() <= 0 || target.bitLength() > 256) {
+            return false;
+        }
+        return new BigInteger(1, Bytes.reverse(hash())).compareTo(target) <= 0;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getPreviousBlockId() {
+        return Bytes.reverseToHex(previousBlockHash);
+    }
+
+    public String getMerkleRoot() {
+        return Bytes.reverseToHex(merkleRoot);
+    }
+
+    public byte[] getMerkleRootBytes() {
+        return merkleRoot.clone();
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getBits() {
+        return bits;
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+}
@@ -3,6 +3,7 @@ package io.github.bitcoineducation.bitcoinjava;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 
 public class Bytes {
     public static byte[] reverse(byte[] bytes) {
@@ -20,4 +21,10 @@ public class Bytes {
     public static String reverseToHex(byte[] bytes) {
         return Hex.toHexString(reverse(bytes));
     }
+
+    public static byte[] copy(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
 }
@@ -0,0 +1,133 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class DerivationCache {
+    public static final String SIZE_PROPERTY = "bitcoinjava.derivation.cache.size";
+
+    public static final int DEFAULT_SIZE = 1024;
+
+    private static final DerivationCache shared = new DerivationCache(Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE));
+
+    private static final Map<ExtendedKey, String> rootIds = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<NodeKey, ExtendedKey> nodes;
+
+    public DerivationCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Derivation cache size cannot be negative: ".concat(String.valueOf(maxSize)));
+        }
+        this.nodes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<NodeKey, ExtendedKey> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    static DerivationCache shared() {
+        return shared;
+    }
+
+    public ExtendedKey derive(ExtendedKey root, String derivationPath, boolean isPrivate, String prefix) {
+        String[] indexes = derivationPath.split("/");
+        int last = indexes.length - 1;
+        NodeKey[] keys = new NodeKey[indexes.length];
+        NodeKey parent = new NodeKey(null, rootId(root), prefix);
+        for (int i = 0; i < indexes.length; i++) {
+            parent = new NodeKey(parent, indexes[i], null);
+            keys[i] = parent;
+        }
+
+        boolean privateNodes = root instanceof ExtendedPrivateKey;
+        ExtendedKey extendedKey = root;
+        int start = 0;
+        for (int i = last - 1; i >= 0; i--) {
+            ExtendedKey cached = nodes.get(keys[i]);
+            if (cached != null) {
+                extendedKey = cached;
+                start = i + 1;
+                break;
+            }
+        }
+        for (int i = start; i <= last; i++) {
+            extendedKey = step(extendedKey, indexes[i], i < last ? privateNodes : isPrivate, prefix);
+            if (i < last) {
+                nodes.put(keys[i], extendedKey);
+            }
+        }
+        return extendedKey;
+    }
+
+    public void clear() {
+        nodes.clear();
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private static String rootId(ExtendedKey root) {
+        String rootId = rootIds.get(root);
+        if (rootId == null) {
+            rootId = Hex.toHexString(Sha256.hash(root.serialize().getBytes(StandardCharsets.US_ASCII)));
+            rootIds.put(root, rootId);
+        }
+        return rootId;
+    }
+
+    private static ExtendedKey step(ExtendedKey extendedKey, String index, boolean isPrivate, String prefix) {
+        if (index.endsWith("'")) {
+            return extendedKey.ckd(new BigInteger(index.replace("'", "")), isPrivate, true, prefix);
+        }
+        return extendedKey.ckd(new BigInteger(index), isPrivate, false, prefix);
+    }
+
+    private static final class NodeKey {
+        private final NodeKey parent;
+
+        private final String index;
+
+        private final String prefix;
+
+        private final int hashCode;
+
+        private NodeKey(NodeKey parent, String index, String prefix) {
+            this.parent = parent;
+            this.index = index;
+            this.prefix = prefix;
+            int hash = parent == null ? prefix.hashCode() : parent.hashCode;
+            this.hashCode = 31 * hash + index.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NodeKey)) {
+                return false;
+            }
+            NodeKey other = (NodeKey) o;
+            if (hashCode != other.hashCode || !index.equals(other.index)) {
+                return false;
+            }
+            if (parent == null) {
+                return other.parent == null && prefix.equals(other.prefix);
+            }
+            return parent.equals(other.parent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -4,12 +4,25 @@ import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class ECSigner {
     public static Signature sign(PrivateKey privateKey, byte[] message) {
-        ECDSASigner ecdsaSigner = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+        ECDSASigner ecdsaSigner = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest())) {
+            @Override
+            protected ECMultiplier createBasePointMultiplier() {
+                return SecP256K1.generatorMultiplier;
+            }
+        };
         ecdsaSigner.init(
             true,
             new ECPrivateKeyParameters(
@@ -23,4 +36,51 @@ public class ECSigner {
         }
         return new Signature(signature[0], signature[1]);
     }
+
+    public static boolean verify(PublicKey publicKey, byte[] hash, Signature signature) {
+        BigInteger r = signature.getR();
+        BigInteger s = signature.getS();
+        if (r.signum() <= 0 || r.compareTo(SecP256K1.order) >= 0 || s.signum() <= 0 || !signature.hasLowS()) {
+            return false;
+        }
+        BigInteger e = new BigInteger(1, hash);
+        BigInteger w = s.modInverse(SecP256K1.order);
+        BigInteger u1 = e.multiply(w).mod(SecP256K1.order);
+        BigInteger u2 = r.multiply(w).mod(SecP256K1.order);
+        ECPoint point = ECAlgorithms.sumOfTwoMultiplies(SecP256K1.G, u1, publicKey.getPoint(), u2).normalize();
+        if (point.isInfinity()) {
+            return false;
+        }
+        return point.getAffineXCoord().toBigInteger().mod(SecP256K1.order).equals(r);
+    }
+
+    public static boolean verifyAll(List<PublicKey> publicKeys, List<byte[]> hashes, List<Signature> signatures) {
+        return verifyAll(publicKeys, hashes, signatures, ForkJoinPool.commonPool());
+    }
+
+    public static boolean verifyAll(List<PublicKey> publicKeys, List<byte[]> hashes, List<Signature> signatures, Executor executor) {
+        if (publicKeys.size() != hashes.size() || hashes.size() != signatures.size()) {
+            throw new IllegalArgumentException("Public keys, hashes and signatures must have the same size.");
+        }
+        int size = signatures.size();
+        int chunks = Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors() * 4));
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) size * chunk / chunks);
+            int to = (int) ((long) size * (chunk + 1) / chunks);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    if (!verify(publicKeys.get(i), hashes.get(i), signatures.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }, executor));
+        }
+        boolean valid = true;
+        for (CompletableFuture<Boolean> future : futures) {
+            valid &= future.join();
+        }
+        return valid;
+    }
 }
@@ -159,6 +159,10 @@ public class ExtendedPrivateKey implements ExtendedKey {
         return extendedKey;
     }
 
+    public ExtendedKey ckd(String derivationPath, boolean isPrivate, String prefix, DerivationCache derivationCache) {
+        return derivationCache.derive(this, derivationPath, isPrivate, prefix);
+    }
+
     @Override
     public PublicKey toPublicKey() {
         return toPrivateKey().getPublicKey();
@@ -9,11 +9,18 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.valueOf;
 
 public class ExtendedPubkey implements ExtendedKey {
+    public static final long HARDENED_INDEX_OFFSET = 0x80000000L;
+
+    private static final int PARALLEL_THRESHOLD = 16;
+
     private final byte[] key;
 
     private final String prefix;
@@ -24,8 +31,15 @@ public class ExtendedPubkey implements ExtendedKey {
 
     private final String childNumber;
 
+    private volatile ECPoint point;
+
     private ExtendedPubkey(byte[] key, String prefix, String depth, String fingerprint, String childNumber) {
+        this(key, null, prefix, depth, fingerprint, childNumber);
+    }
+
+    private ExtendedPubkey(byte[] key, ECPoint point, String prefix, String depth, String fingerprint, String childNumber) {
         this.key = key;
+        this.point = point;
         this.prefix = prefix;
         this.depth = depth;
         this.fingerprint = fingerprint;
@@ -38,22 +52,21 @@ public class ExtendedPubkey implements ExtendedKey {
         byte[] chainCode = ByteUtils.subArray(key, keyBytesLength, key.length);
 
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        PrivateKey privateKey = new PrivateKey(new BigInteger(1, keyBytes));
-        byteArrayOutputStream.writeBytes(privateKey.getPublicKey().getCompressedPublicKey());
+        PublicKey publicKey = new PrivateKey(new BigInteger(1, keyBytes)).getPublicKey();
+        byteArrayOutputStream.writeBytes(publicKey.getCompressedPublicKey());
         byteArrayOutputStream.writeBytes(chainCode);
 
-        return new ExtendedPubkey(
-            byteArrayOutputStream.toByteArray(),
-            prefix,
-            Hex.toHexString(BigIntegers.asUnsignedByteArray(1, valueOf(depth))),
-            fingerprint,
-            Hex.toHexString(BigIntegers.asUnsignedByteArray(4, childNumber))
-        );
+        return fromPublic(byteArrayOutputStream.toByteArray(), publicKey.getPoint(), depth, fingerprint, childNumber, prefix);
     }
 
     public static ExtendedPubkey fromPublic(byte[] key, long depth, String fingerprint, BigInteger childNumber, String prefix) {
+        return fromPublic(key, null, depth, fingerprint, childNumber, prefix);
+    }
+
+    private static ExtendedPubkey fromPublic(byte[] key, ECPoint point, long depth, String fingerprint, BigInteger childNumber, String prefix) {
         return new ExtendedPubkey(
             key,
+            point,
             prefix,
             Hex.toHexString(BigIntegers.asUnsignedByteArray(1, valueOf(depth))),
             fingerprint,
@@ -111,15 +124,14 @@ public class ExtendedPubkey implements ExtendedKey {
         byte[] childRawKey = ByteUtils.subArray(rawKey, 0, 32);
         byte[] childChainCode = ByteUtils.subArray(rawKey, 32, rawKey.length);
 
-        PublicKey childPublicKey = new PrivateKey(new BigInteger(1, childRawKey)).getPublicKey();
-        PublicKey publicKey = PublicKey.fromCompressedPublicKey(keyBytes);
-        ECPoint point = childPublicKey.getPoint().add(publicKey.getPoint());
-        byte[] childKey = point.getEncoded(true);
+        ECPoint childPoint = SecP256K1.multiplyG(new BigInteger(1, childRawKey)).add(getPoint()).normalize();
+        byte[] childKey = childPoint.getEncoded(true);
 
         String childFingerprint = Hash160.hashToHex(keyBytes).substring(0, 8);
         long depth = new BigInteger(this.depth).add(ONE).longValueExact();
         return ExtendedPubkey.fromPublic(
             ByteUtils.concatenate(childKey, childChainCode),
+            childPoint,
             depth,
             childFingerprint,
             index,
@@ -127,31 +139,78 @@ public class ExtendedPubkey implements ExtendedKey {
         );
     }
 
+    public List<ExtendedPubkey> ckdRange(long from, long to) {
+        return ckdRange(from, to, ForkJoinPool.commonPool());
+    }
+
+    public List<ExtendedPubkey> ckdRange(long from, long to, ForkJoinPool pool) {
+        if (from < 0 || to > HARDENED_INDEX_OFFSET || from > to) {
+            throw new IllegalArgumentException("Invalid non-hardened index range: [" + from + ", " + to + ")");
+        }
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index range too large: [" + from + ", " + to + ")");
+        }
+        byte[] keyBytes = ByteUtils.subArray(key, 0, 33);
+        byte[] chainCode = ByteUtils.subArray(key, 33, key.length);
+        ECPoint parentPoint = getPoint();
+        int size = (int) (to - from);
+        ECPoint[] points = new ECPoint[size];
+        byte[][] childChainCodes = new byte[size][];
+        ParallelLoop.forEach(size, PARALLEL_THRESHOLD, i -> {
+            byte[] data = ByteUtils.concatenate(keyBytes, BigIntegers.asUnsignedByteArray(4, valueOf(from + i)));
+            byte[] rawKey = HMacSha512.hash(chainCode, data);
+            points[i] = SecP256K1.multiplyG(new BigInteger(1, rawKey, 0, 32)).add(parentPoint);
+            childChainCodes[i] = ByteUtils.subArray(rawKey, 32, rawKey.length);
+        }, pool);
+        SecP256K1.curve.normalizeAll(points);
+
+        String childFingerprint = Hash160.hashToHex(keyBytes).substring(0, 8);
+        long depth = new BigInteger(this.depth).add(ONE).longValueExact();
+        ExtendedPubkey[] children = new ExtendedPubkey[size];
+        ParallelLoop.forEach(size, PARALLEL_THRESHOLD, i -> children[i] = ExtendedPubkey.fromPublic(
+            ByteUtils.concatenate(points[i].getEncoded(true), childChainCodes[i]),
+            points[i],
+            depth,
+            childFingerprint,
+            valueOf(from + i),
+            prefix
+        ), pool);
+        return Arrays.asList(children);
+    }
+
     public ExtendedKey ckd(String derivationPath) {
         return ckd(derivationPath, prefix);
     }
 
     public ExtendedKey ckd(String derivationPath, String prefix) {
-        String[] indexes = derivationPath.split("/");
-        ExtendedKey extendedKey = this;
-        for (String index : indexes) {
+        return ckd(derivationPath, prefix, DerivationCache.shared());
+    }
+
+    public ExtendedKey ckd(String derivationPath, String prefix, DerivationCache derivationCache) {
+        for (String index : derivationPath.split("/")) {
             if (index.endsWith("'")) {
                 throw new IllegalArgumentException("Cannot derive hardened key from extended pubkey.");
             }
-            extendedKey = extendedKey.ckd(
-                new BigInteger(index),
-                false,
-                false,
-                prefix
-            );
         }
-        return extendedKey;
+        return derivationCache.derive(this, derivationPath, false, prefix);
+    }
+
+    public String getPrefix() {
+        return prefix;
     }
 
     @Override
     public PublicKey toPublicKey() {
-        byte[] keyBytes = ByteUtils.subArray(key, 0, 33);
-        return PublicKey.fromCompressedPublicKey(keyBytes);
+        return new PublicKey(getPoint());
+    }
+
+    public ECPoint getPoint() {
+        ECPoint result = point;
+        if (result == null) {
+            result = PointDecoder.decompress(ByteUtils.subArray(key, 0, 33));
+            point = result;
+        }
+        return result;
     }
 
 }
@@ -0,0 +1,120 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.math.ec.ECLookupTable;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat256;
+
+import java.math.BigInteger;
+
+public class GeneratorMultiplier implements ECMultiplier {
+    public static final String WINDOW_PROPERTY = "bitcoinjava.generator.window";
+
+    public static final int DEFAULT_WINDOW = 5;
+
+    private final int window;
+
+    private final ECLookupTable[] tables;
+
+    private final ECPoint correction;
+
+    public GeneratorMultiplier(int window) {
+        this(window, computePoints(window));
+    }
+
+    private GeneratorMultiplier(int window, ECPoint[] points) {
+        this.window = window;
+        int windows = windows(window);
+        int entries = 1 << window;
+        this.tables = new ECLookupTable[windows];
+        ECPoint sum = SecP256K1.curve.getInfinity();
+        for (int i = 0; i < windows; i++) {
+            tables[i] = SecP256K1.curve.createCacheSafeLookupTable(points, i * entries, entries);
+            sum = sum.add(points[i * entries]);
+        }
+        this.correction = sum.negate().normalize();
+    }
+
+    public static GeneratorMultiplier fromProperties() {
+        int window = Integer.getInteger(WINDOW_PROPERTY, DEFAULT_WINDOW);
+        if (!isValidWindow(window)) {
+            System.getLogger(GeneratorMultiplier.class.getName()).log(
+                System.Logger.Level.WARNING,
+                "Ignoring invalid {0}={1}, using {2}",
+                WINDOW_PROPERTY,
+                window,
+                DEFAULT_WINDOW
+            );
+            window = DEFAULT_WINDOW;
+        }
+        return new GeneratorMultiplier(window);
+    }
+
+    public ECPoint multiply(BigInteger k) {
+        BigInteger scalar = k.mod(SecP256K1.order);
+        if (scalar.signum() == 0) {
+            return SecP256K1.curve.getInfinity();
+        }
+        int[] words = Nat256.fromBigInteger(scalar);
+        ECPoint result = tables[0].lookup(digit(words, 0));
+        for (int i = 1; i < tables.length; i++) {
+            result = result.add(tables[i].lookup(digit(words, i)));
+        }
+        return result.add(correction);
+    }
+
+    @Override
+    public ECPoint multiply(ECPoint p, BigInteger k) {
+        if (p != SecP256K1.G && !p.equals(SecP256K1.G)) {
+            return p.multiply(k);
+        }
+        return multiply(k);
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    private int digit(int[] words, int index) {
+        int bit = index * window;
+        int word = bit >>> 5;
+        int shift = bit & 31;
+        int digit = words[word] >>> shift;
+        if (shift + window > 32 && word + 1 < words.length) {
+            digit |= words[word + 1] << (32 - shift);
+        }
+        return digit & ((1 << window) - 1);
+    }
+
+    private static ECPoint[] computePoints(int window) {
+        checkWindow(window);
+        int windows = windows(window);
+        int entries = 1 << window;
+        ECPoint[] points = new ECPoint[windows * entries];
+        ECPoint base = SecP256K1.G;
+        for (int i = 0; i < windows; i++) {
+            int offset = i * entries;
+            points[offset] = base;
+            for (int j = 1; j < entries; j++) {
+                points[offset + j] = points[offset + j - 1].add(base);
+            }
+            SecP256K1.curve.normalizeAll(points, offset, entries, null);
+            base = points[offset + entries - 1];
+        }
+        return points;
+    }
+
+    private static int windows(int window) {
+        return (256 + window - 1) / window;
+    }
+
+    private static boolean isValidWindow(int window) {
+        return window >= 1 && window <= 8;
+    }
+
+    private static void checkWindow(int window) {
+        if (!isValidWindow(window)) {
+            throw new IllegalArgumentException("Generator window must be between 1 and 8: ".concat(String.valueOf(window)));
+        }
+    }
+}
@@ -2,25 +2,25 @@ package io.github.bitcoineducation.bitcoinjava;
 
 import org.bouncycastle.util.encoders.Hex;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.NoSuchElementException;
+import java.nio.ByteBuffer;
 
 public class Hash160 {
     public static byte[] hash(byte[] key) {
-        MessageDigest ripemd = null;
-        try {
-            ripemd = MessageDigest.getInstance("RIPEMD160");
-        } catch (NoSuchAlgorithmException e) {
-            throw new NoSuchElementException("Algorithm RIPEMD160 not found. You may need to add BouncyCastleProvider as a security provider in your project.");
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key).hash160();
         }
-        MessageDigest sha256 = null;
-        try {
-            sha256 = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new NoSuchElementException("Algorithm SHA-256 not found. You may need to add BouncyCastleProvider as a security provider in your project.");
+    }
+
+    public static byte[] hash(byte[] key, int offset, int length) {
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key, offset, length).hash160();
+        }
+    }
+
+    public static byte[] hash(ByteBuffer key) {
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key).hash160();
         }
-        return ripemd.digest(sha256.digest(key));
     }
 
     public static String hashToHex(byte[] key) {
@@ -0,0 +1,95 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.NoSuchElementException;
+
+class HashingSink implements AutoCloseable {
+    private static final int SCRATCH_SIZE = 1024;
+
+    private static final int MAX_RETAINED_SCRATCH_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<HashingSink> sinks = ThreadLocal.withInitial(HashingSink::new);
+
+    private final MessageDigest sha256;
+
+    private final RIPEMD160Digest ripemd160 = new RIPEMD160Digest();
+
+    private ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE);
+
+    private boolean inUse;
+
+    private HashingSink() {
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new NoSuchElementException("Algorithm SHA-256 not found. You may need to add BouncyCastleProvider as a security provider in your project.");
+        }
+    }
+
+    static HashingSink get() {
+        HashingSink sink = sinks.get();
+        if (sink.inUse) {
+            return new HashingSink();
+        }
+        sink.inUse = true;
+        sink.sha256.reset();
+        return sink;
+    }
+
+    ByteBuffer scratch(int size) {
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.limit(size);
+        return scratch;
+    }
+
+    HashingSink write(byte[] bytes) {
+        sha256.update(bytes);
+        return this;
+    }
+
+    HashingSink write(byte[] bytes, int offset, int length) {
+        sha256.update(bytes, offset, length);
+        return this;
+    }
+
+    HashingSink write(ByteBuffer buffer) {
+        sha256.update(buffer);
+        return this;
+    }
+
+    HashingSink writeScratch() {
+        sha256.update(scratch.array(), 0, scratch.position());
+        return this;
+    }
+
+    byte[] sha256() {
+        return sha256.digest();
+    }
+
+    byte[] hash256() {
+        return sha256.digest(sha256.digest());
+    }
+
+    byte[] hash160() {
+        byte[] sha = sha256.digest();
+        byte[] result = new byte[ripemd160.getDigestSize()];
+        ripemd160.update(sha, 0, sha.length);
+        ripemd160.doFinal(result, 0);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (scratch.capacity() > MAX_RETAINED_SCRATCH_SIZE) {
+            scratch = ByteBuffer.allocate(SCRATCH_SIZE);
+        }
+        inUse = false;
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.nio.ByteBuffer;
+
+public class LegacySigHasher {
+    private static final int SIGHASH_NONE = SigHashTypes.SIGHASH_NONE.intValue();
+
+    private static final int SIGHASH_SINGLE = SigHashTypes.SIGHASH_SINGLE.intValue();
+
+    private static final int SIGHASH_ANYONECANPAY = SigHashTypes.SIGHASH_ANYONECANPAY.intValue();
+
+    private static final int INPUT_SKELETON_SIZE = OutPoint.SIZE + 1 + 4;
+
+    private static final byte[] ONE_INPUT = {1};
+
+    private static final byte[] NO_OUTPUTS = {0};
+
+    private static final byte[] ZERO_SEQUENCE = new byte[4];
+
+    private static final byte[] BLANK_OUTPUT = {-1, -1, -1, -1, -1, -1, -1, -1, 0};
+
+    private static final byte[] SINGLE_WITHOUT_OUTPUT_HASH = new byte[32];
+
+    static {
+        SINGLE_WITHOUT_OUTPUT_HASH[0] = 1;
+    }
+
+    private final TransactionSnapshot snapshot;
+
+    private final Transaction transaction;
+
+    private final TransactionInput[] inputs;
+
+    private final TransactionOutput[] outputs;
+
+    private final byte[] inputSkeleton;
+
+    private final byte[] inputCount;
+
+    private final byte[] outputSection;
+
+    private final int[] outputOffsets;
+
+    public LegacySigHasher(Transaction transaction) {
+        this.snapshot = new TransactionSnapshot(transaction);
+        this.transaction = transaction;
+        this.inputs = snapshot.inputs;
+        this.outputs = snapshot.outputs;
+
+        ByteBuffer skeleton = ByteBuffer.allocate(inputs.length * INPUT_SKELETON_SIZE);
+        for (TransactionInput input : inputs) {
+            input.writeOutpointTo(skeleton);
+            skeleton.put((byte) 0);
+            LittleEndian.writeInt(skeleton, input.getSequenceAsLong());
+        }
+        this.inputSkeleton = skeleton.array();
+
+        ByteBuffer count = ByteBuffer.allocate(VarInt.size(inputs.length));
+        VarInt.write(count, inputs.length);
+        this.inputCount = count.array();
+
+        int outputsSize = VarInt.size(outputs.length);
+        for (TransactionOutput output : outputs) {
+            outputsSize += output.serializedSize();
+        }
+        ByteBuffer section = ByteBuffer.allocate(outputsSize);
+        VarInt.write(section, outputs.length);
+        this.outputOffsets = new int[outputs.length + 1];
+        for (int i = 0; i < outputs.length; i++) {
+            outputOffsets[i] = section.position();
+            outputs[i].writeTo(section);
+        }
+        outputOffsets[outputs.length] = section.position();
+        this.outputSection = section.array();
+    }
+
+    public byte[] sigHash(int inputIndex, Script scriptCode, int sigHashType) {
+        return sigHash(inputIndex, scriptCode.rawToBytes(), sigHashType);
+    }
+
+    public byte[] sigHash(int inputIndex, byte[] scriptCode, int sigHashType) {
+        if (inputIndex < 0 || inputIndex >= inputs.length) {
+            throw new IllegalArgumentException("Input index out of range: ".concat(Integer.toString(inputIndex)));
+        }
+        int baseType = sigHashType & 0x1f;
+        boolean anyoneCanPay = (sigHashType & SIGHASH_ANYONECANPAY) != 0;
+        boolean zeroOtherSequences = baseType == SIGHASH_NONE || baseType == SIGHASH_SINGLE;
+        if (baseType == SIGHASH_SINGLE && inputIndex >= outputs.length) {
+            return SINGLE_WITHOUT_OUTPUT_HASH.clone();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            LittleEndian.writeInt(sink.scratch(4), transaction.getVersionAsLong());
+            sink.writeScratch();
+
+            if (anyoneCanPay) {
+                sink.write(ONE_INPUT);
+                writeSignedInput(sink, inputIndex, scriptCode);
+            } else {
+                sink.write(inputCount);
+                writeOtherInputs(sink, 0, inputIndex, zeroOtherSequences);
+                writeSignedInput(sink, inputIndex, scriptCode);
+                writeOtherInputs(sink, inputIndex + 1, inputs.length, zeroOtherSequences);
+            }
+
+            if (baseType == SIGHASH_NONE) {
+                sink.write(NO_OUTPUTS);
+            } else if (baseType == SIGHASH_SINGLE) {
+                ByteBuffer outputCount = sink.scratch(9);
+                VarInt.write(outputCount, inputIndex + 1);
+                sink.writeScratch();
+                for (int i = 0; i < inputIndex; i++) {
+                    sink.write(BLANK_OUTPUT);
+                }
+                sink.write(outputSection, outputOffsets[inputIndex], outputOffsets[inputIndex + 1] - outputOffsets[inputIndex]);
+            } else {
+                sink.write(outputSection);
+            }
+
+            ByteBuffer trailer = sink.scratch(8);
+            LittleEndian.writeInt(trailer, transaction.getLocktimeAsLong());
+            LittleEndian.writeInt(trailer, Integer.toUnsignedLong(sigHashType));
+            return sink.writeScratch().hash256();
+        }
+    }
+
+    private void writeSignedInput(HashingSink sink, int inputIndex, byte[] scriptCode) {
+        ByteBuffer signedInput = sink.scratch(OutPoint.SIZE + VarInt.size(scriptCode.length) + scriptCode.length + 4);
+        signedInput.put(inputSkeleton, inputIndex * INPUT_SKELETON_SIZE, OutPoint.SIZE);
+        VarInt.write(signedInput, scriptCode.length);
+        signedInput.put(scriptCode);
+        LittleEndian.writeInt(signedInput, inputs[inputIndex].getSequenceAsLong());
+        sink.writeScratch();
+    }
+
+    private void writeOtherInputs(HashingSink sink, int from, int to, boolean zeroSequences) {
+        if (!zeroSequences) {
+            sink.write(inputSkeleton, from * INPUT_SKELETON_SIZE, (to - from) * INPUT_SKELETON_SIZE);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            sink.write(inputSkeleton, i * INPUT_SKELETON_SIZE, OutPoint.SIZE + 1);
+            sink.write(ZERO_SEQUENCE);
+        }
+    }
+
+    boolean isStale() {
+        return snapshot.isStale();
+    }
+}
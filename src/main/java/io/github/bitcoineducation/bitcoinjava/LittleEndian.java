@@ -3,9 +3,24 @@ package io.github.bitcoineducation.bitcoinjava;
 import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.encoders.Hex;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 public class LittleEndian {
+    private static final long MAX_UNSIGNED_INT = 0xffffffffL;
+
+    static long toUnsignedInt(BigInteger value, String name) {
+        long result = value.longValueExact();
+        if (result < 0 || result > MAX_UNSIGNED_INT) {
+            throw new IllegalArgumentException(name.concat(" does not fit in 32 bits: ").concat(value.toString()));
+        }
+        return result;
+    }
+
     public static BigInteger toUnsignedLittleEndian(byte[] bytes) {
         return new BigInteger(1, Bytes.reverse(bytes));
     }
@@ -18,4 +33,74 @@ public class LittleEndian {
     public static String fromUnsignedLittleEndianToHex(BigInteger bigInteger, int outputLength) {
         return Hex.toHexString(fromUnsignedLittleEndian(bigInteger, outputLength));
     }
+
+    public static byte[] fromUnsignedLittleEndian(long value, int outputLength) {
+        byte[] bytes = new byte[outputLength];
+        for (int i = 0; i < outputLength; i++) {
+            bytes[i] = (byte) (value >>> (8 * i));
+        }
+        return bytes;
+    }
+
+    public static String fromUnsignedLittleEndianToHex(long value, int outputLength) {
+        return Hex.toHexString(fromUnsignedLittleEndian(value, outputLength));
+    }
+
+    public static long readInt(InputStream stream) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 4; i++) {
+            int next = stream.read();
+            if (next < 0) {
+                throw new EOFException();
+            }
+            value |= (long) next << (8 * i);
+        }
+        return value;
+    }
+
+    public static long readLong(InputStream stream) throws IOException {
+        return readInt(stream) | readInt(stream) << 32;
+    }
+
+    public static void writeInt(ByteBuffer buffer, long value) {
+        buffer.put((byte) value);
+        buffer.put((byte) (value >>> 8));
+        buffer.put((byte) (value >>> 16));
+        buffer.put((byte) (value >>> 24));
+    }
+
+    public static void writeLong(ByteBuffer buffer, long value) {
+        writeInt(buffer, value);
+        writeInt(buffer, value >>> 32);
+    }
+
+    public static void writeInt(OutputStream outputStream, long value) throws IOException {
+        outputStream.write((int) value);
+        outputStream.write((int) (value >>> 8));
+        outputStream.write((int) (value >>> 16));
+        outputStream.write((int) (value >>> 24));
+    }
+
+    public static void writeLong(OutputStream outputStream, long value) throws IOException {
+        writeInt(outputStream, value);
+        writeInt(outputStream, value >>> 32);
+    }
+
+    public static long readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xffL)
+            | (bytes[offset + 1] & 0xffL) << 8
+            | (bytes[offset + 2] & 0xffL) << 16
+            | (bytes[offset + 3] & 0xffL) << 24;
+    }
+
+    public static long readInt(ByteBuffer buffer, int offset) {
+        return (buffer.get(offset) & 0xffL)
+            | (buffer.get(offset + 1) & 0xffL) << 8
+            | (buffer.get(offset + 2) & 0xffL) << 16
+            | (buffer.get(offset + 3) & 0xffL) << 24;
+    }
+
+    public static long readLong(ByteBuffer buffer, int offset) {
+        return readInt(buffer, offset) | readInt(buffer, offset + 4) << 32;
+    }
 }
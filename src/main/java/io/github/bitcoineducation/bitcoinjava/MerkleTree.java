@@ -0,0 +1,45 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+public class MerkleTree {
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    public static byte[] root(List<byte[]> hashes) {
+        return root(hashes, ForkJoinPool.commonPool());
+    }
+
+    public static byte[] root(List<byte[]> hashes, ForkJoinPool pool) {
+        return root(hashes.toArray(new byte[0][]), pool);
+    }
+
+    public static <T> byte[] root(List<T> items, Function<T, byte[]> leafHash, ForkJoinPool pool) {
+        byte[][] leaves = new byte[items.size()][];
+        ParallelLoop.forEach(leaves.length, PARALLEL_THRESHOLD, i -> leaves[i] = leafHash.apply(items.get(i)), pool);
+        return root(leaves, pool);
+    }
+
+    private static byte[] root(byte[][] leaves, ForkJoinPool pool) {
+        if (leaves.length == 0) {
+            throw new IllegalArgumentException("Cannot compute merkle root of an empty list.");
+        }
+        byte[][] level = leaves;
+        while (level.length > 1) {
+            byte[][] currentLevel = level;
+            byte[][] nextLevel = new byte[(level.length + 1) / 2][];
+            ParallelLoop.forEach(nextLevel.length, PARALLEL_THRESHOLD, i -> nextLevel[i] = hashPair(currentLevel, i), pool);
+            level = nextLevel;
+        }
+        return level[0];
+    }
+
+    private static byte[] hashPair(byte[][] level, int index) {
+        byte[] left = level[2 * index];
+        byte[] right = 2 * index + 1 < level.length ? level[2 * index + 1] : left;
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(left).write(right).hash256();
+        }
+    }
+}
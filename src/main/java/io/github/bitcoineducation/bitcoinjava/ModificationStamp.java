@@ -0,0 +1,15 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class ModificationStamp {
+    private static final AtomicLong counter = new AtomicLong();
+
+    static long next() {
+        return counter.incrementAndGet();
+    }
+
+    static long current() {
+        return counter.get();
+    }
+}
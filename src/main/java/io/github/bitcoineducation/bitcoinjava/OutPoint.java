@@ -0,0 +1,82 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public final class OutPoint {
+    public static final int SIZE = 36;
+
+    private final byte[] bytes;
+
+    private final int hashCode;
+
+    private volatile TxId txId;
+
+    public OutPoint(TxId txId, long index) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        txId.writeTo(buffer);
+        LittleEndian.writeInt(buffer, index);
+        this.bytes = buffer.array();
+        this.hashCode = Arrays.hashCode(bytes);
+        this.txId = txId;
+    }
+
+    private OutPoint(byte[] bytes) {
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("Outpoint must have 36 bytes.");
+        }
+        this.bytes = bytes;
+        this.hashCode = Arrays.hashCode(bytes);
+    }
+
+    public static OutPoint fromBytes(byte[] bytes) {
+        return new OutPoint(bytes.clone());
+    }
+
+    public static OutPoint fromBuffer(ByteBuffer buffer, int offset) {
+        return new OutPoint(Bytes.copy(buffer, offset, SIZE));
+    }
+
+    public TxId getTxId() {
+        TxId currentTxId = txId;
+        if (currentTxId == null) {
+            currentTxId = TxId.fromBuffer(ByteBuffer.wrap(bytes), 0);
+            txId = currentTxId;
+        }
+        return currentTxId;
+    }
+
+    public long getIndex() {
+        return LittleEndian.readInt(bytes, TxId.SIZE);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes);
+    }
+
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutPoint)) {
+            return false;
+        }
+        OutPoint other = (OutPoint) o;
+        return hashCode == other.hashCode && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return getTxId().toHex().concat(":").concat(Long.toString(getIndex()));
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+class ParallelLoop {
+    static void forEach(int size, int threshold, IntConsumer body, ForkJoinPool pool) {
+        if (size < threshold) {
+            for (int i = 0; i < size; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new ForEachAction(0, size, threshold, body));
+    }
+
+    private static class ForEachAction extends RecursiveAction {
+        private final int from;
+
+        private final int to;
+
+        private final int threshold;
+
+        private final IntConsumer body;
+
+        private ForEachAction(int from, int to, int threshold, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ForEachAction(from, middle, threshold, body), new ForEachAction(middle, to, threshold, body));
+        }
+    }
+}
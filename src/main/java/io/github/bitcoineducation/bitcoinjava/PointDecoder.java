@@ -0,0 +1,107 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PointDecoder {
+    public static final String CACHE_SIZE_PROPERTY = "bitcoinjava.point.cache.size";
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int COMPRESSED_SIZE = 33;
+
+    private static final int maxCacheSize = cacheSizeFromProperties();
+
+    private static final Map<ByteBuffer, ECPoint> cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, ECPoint> eldest) {
+            return size() > maxCacheSize;
+        }
+    });
+
+    public static ECPoint decompress(byte[] compressedPublicKey) {
+        if (compressedPublicKey.length != COMPRESSED_SIZE) {
+            throw new IllegalArgumentException("Invalid compressed public key length: ".concat(String.valueOf(compressedPublicKey.length)));
+        }
+        if (compressedPublicKey[0] != 2 && compressedPublicKey[0] != 3) {
+            throw new IllegalArgumentException("Invalid compressed public key prefix: ".concat(String.valueOf(compressedPublicKey[0] & 0xff)));
+        }
+        ECPoint point = cache.get(ByteBuffer.wrap(compressedPublicKey));
+        if (point != null) {
+            return point;
+        }
+        point = decompress(new BigInteger(1, compressedPublicKey, 1, 32), compressedPublicKey[0] != 2);
+        if (point == null) {
+            throw new IllegalArgumentException("Invalid compressed public key.");
+        }
+        return cache(compressedPublicKey.clone(), point);
+    }
+
+    public static ECPoint liftX(BigInteger x) {
+        if (x.signum() < 0 || x.bitLength() > 256) {
+            return null;
+        }
+        byte[] key = new byte[COMPRESSED_SIZE];
+        key[0] = 2;
+        BigIntegers.asUnsignedByteArray(x, key, 1, 32);
+        ECPoint point = cache.get(ByteBuffer.wrap(key));
+        if (point != null) {
+            return point;
+        }
+        point = decompress(x, false);
+        if (point == null) {
+            return null;
+        }
+        return cache(key, point);
+    }
+
+    public static ECPoint decompress(BigInteger x, boolean odd) {
+        if (x.signum() < 0 || x.compareTo(SecP256K1.curve.getQ()) >= 0) {
+            return null;
+        }
+        ECFieldElement xElement = SecP256K1.curve.fromBigInteger(x);
+        ECFieldElement y = xElement.square().multiply(xElement).add(SecP256K1.curve.getB()).sqrt();
+        if (y == null) {
+            return null;
+        }
+        if (y.testBitZero() != odd) {
+            y = y.negate();
+        }
+        return SecP256K1.curve.createPoint(x, y.toBigInteger());
+    }
+
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    public static int cacheSize() {
+        return cache.size();
+    }
+
+    private static ECPoint cache(byte[] key, ECPoint point) {
+        ECPoint previous = cache.putIfAbsent(ByteBuffer.wrap(key), point);
+        return previous != null ? previous : point;
+    }
+
+    private static int cacheSizeFromProperties() {
+        int size = Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+        if (size < 0) {
+            System.getLogger(PointDecoder.class.getName()).log(
+                System.Logger.Level.WARNING,
+                "Ignoring invalid {0}={1}, using {2}",
+                CACHE_SIZE_PROPERTY,
+                size,
+                DEFAULT_CACHE_SIZE
+            );
+            return DEFAULT_CACHE_SIZE;
+        }
+        return size;
+    }
+}
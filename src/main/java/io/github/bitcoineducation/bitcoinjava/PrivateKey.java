@@ -12,11 +12,10 @@ import static java.math.BigInteger.ZERO;
 public class PrivateKey {
     private final BigInteger secret;
 
-    private final PublicKey publicKey;
+    private volatile PublicKey publicKey;
 
     public PrivateKey(BigInteger secret) {
         this.secret = secret;
-        this.publicKey = new PublicKey(SecP256K1.G.multiply(secret).normalize());
     }
 
     public static PrivateKey fromWif(String wif, boolean compressed) {
@@ -29,7 +28,12 @@ public class PrivateKey {
     }
 
     public PublicKey getPublicKey() {
-        return publicKey;
+        PublicKey result = publicKey;
+        if (result == null) {
+            result = new PublicKey(SecP256K1.multiplyG(secret).normalize());
+            publicKey = result;
+        }
+        return result;
     }
 
     public String wif(String prefix, boolean compressed) {
@@ -45,6 +49,7 @@ public class PrivateKey {
 
     public PrivateKey toTaprootTweakSeckey(BigInteger h) {
         BigInteger secretKey = secret;
+        PublicKey publicKey = getPublicKey();
         if (!publicKey.getPoint().getAffineYCoord().toBigInteger().mod(TWO).equals(ZERO)) {
             secretKey = SecP256K1.order.subtract(secretKey);
         }
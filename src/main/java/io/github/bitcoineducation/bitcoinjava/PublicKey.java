@@ -1,52 +1,27 @@
 package io.github.bitcoineducation.bitcoinjava;
 
-import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECPoint;
-import org.bouncycastle.math.ec.custom.sec.SecP256K1FieldElement;
-import org.bouncycastle.pqc.math.linearalgebra.ByteUtils;
 import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 
-import static io.github.bitcoineducation.bitcoinjava.BIP340.liftX;
 import static io.github.bitcoineducation.bitcoinjava.SecP256K1.*;
-import static java.math.BigInteger.*;
 
 public class PublicKey {
-    private final byte[] uncompressedPublicKey;
+    private final ECPoint point;
 
-    private final byte[] compressedPublicKey;
+    private volatile byte[] uncompressedPublicKey;
 
-    private final ECPoint point;
+    private volatile byte[] compressedPublicKey;
 
     public PublicKey(ECPoint point) {
         this.point = point;
-        this.uncompressedPublicKey = uncompressedPublicKey(point);
-        this.compressedPublicKey = compressedPublicKey(point);
     }
 
     public static PublicKey fromCompressedPublicKey(byte[] compressedPublicKey) {
-        BigInteger x = new BigInteger(1, ByteUtils.subArray(compressedPublicKey, 1, 33));
-        SecP256K1FieldElement xElement = new SecP256K1FieldElement(x);
-
-        boolean isEven = compressedPublicKey[0] == 2;
-        ECFieldElement alpha = pow(xElement, valueOf(3)).add(new SecP256K1FieldElement(valueOf(7)));
-        ECFieldElement beta = sqrt(alpha);
-        ECFieldElement evenBeta;
-        ECFieldElement oddBeta;
-        if (beta.toBigInteger().mod(TWO).equals(ZERO)) {
-            evenBeta = beta;
-            oddBeta = new SecP256K1FieldElement(SecP256K1FieldElement.Q.subtract(beta.toBigInteger()));
-        } else {
-            oddBeta = beta;
-            evenBeta = new SecP256K1FieldElement(SecP256K1FieldElement.Q.subtract(beta.toBigInteger()));
-        }
-        if (isEven) {
-            return new PublicKey(SecP256K1.curve.createPoint(x, evenBeta.toBigInteger()).normalize());
-        }
-        return new PublicKey(SecP256K1.curve.createPoint(x, oddBeta.toBigInteger()).normalize());
+        return new PublicKey(PointDecoder.decompress(compressedPublicKey));
     }
 
     public PublicKey toTaprootInternalKey() {
@@ -55,47 +30,39 @@ public class PublicKey {
 
     public PublicKey toTaprootSingleKeyOutputKey() {
         return new PublicKey(
-            G.multiply(TaggedHash.hashToBigInteger("TapTweak", BigIntegers.asUnsignedByteArray(getX()))).add(this.point).normalize()
+            multiplyG(TaggedHash.hashToBigInteger("TapTweak", BigIntegers.asUnsignedByteArray(getX()))).add(this.point).normalize()
         );
     }
 
     public static PublicKey taprootInternalKeyFromX(BigInteger x) {
-        return new PublicKey(liftX(x));
-    }
-
-    private byte[] uncompressedPublicKey(ECPoint point) {
-        return point.getEncoded(false);
-    }
-
-    private byte[] compressedPublicKey(ECPoint point) {
-        return point.getEncoded(true);
+        return new PublicKey(PointDecoder.liftX(x));
     }
 
     public String uncompressedPublicKeyHex() {
-        return Hex.toHexString(uncompressedPublicKey);
+        return Hex.toHexString(getUncompressedPublicKey());
     }
 
     public String compressedPublicKeyHex() {
-        return Hex.toHexString(compressedPublicKey);
+        return Hex.toHexString(getCompressedPublicKey());
     }
 
     public String addressFromUncompressedPublicKey(String prefix) {
-        byte[] hash160 = Hash160.hash(uncompressedPublicKey);
+        byte[] hash160 = Hash160.hash(getUncompressedPublicKey());
         return concat(prefix, hash160);
     }
 
     public String addressFromCompressedPublicKey(String prefix) {
-        byte[] hash160 = Hash160.hash(compressedPublicKey);
+        byte[] hash160 = Hash160.hash(getCompressedPublicKey());
         return concat(prefix, hash160);
     }
 
     public String segwitAddressFromCompressedPublicKey(String prefix) {
-        byte[] hash160 = Hash160.hash(compressedPublicKey);
+        byte[] hash160 = Hash160.hash(getCompressedPublicKey());
         return Bech32.encode(prefix, 0, hash160);
     }
 
     public String nestedSegwitAddressFromCompressedPublicKey(String prefix) {
-        return Script.p2wpkhScript(Hash160.hashToHex(compressedPublicKey)).p2shAddress(prefix);
+        return Script.p2wpkhScript(Hash160.hashToHex(getCompressedPublicKey())).p2shAddress(prefix);
     }
 
     public String taprootAddress(String prefix) {
@@ -110,11 +77,21 @@ public class PublicKey {
     }
 
     public byte[] getCompressedPublicKey() {
-        return compressedPublicKey;
+        byte[] result = compressedPublicKey;
+        if (result == null) {
+            result = point.getEncoded(true);
+            compressedPublicKey = result;
+        }
+        return result;
     }
 
     public byte[] getUncompressedPublicKey() {
-        return uncompressedPublicKey;
+        byte[] result = uncompressedPublicKey;
+        if (result == null) {
+            result = point.getEncoded(false);
+            uncompressedPublicKey = result;
+        }
+        return result;
     }
 
     public ECPoint getPoint() {
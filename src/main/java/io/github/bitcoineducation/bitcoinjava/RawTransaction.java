@@ -0,0 +1,287 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+public class RawTransaction {
+    private final ByteBuffer buffer;
+
+    private final int offset;
+
+    private final int length;
+
+    private final boolean segwit;
+
+    private final int[] inputOffsets;
+
+    private final int[] scriptSigOffsets;
+
+    private final int[] outputOffsets;
+
+    private final int[] scriptPubkeyOffsets;
+
+    private final int[] witnessOffsets;
+
+    private final int outputsEnd;
+
+    private final int locktimeOffset;
+
+    private RawTransaction(
+        ByteBuffer buffer,
+        int offset,
+        boolean segwit,
+        int[] inputOffsets,
+        int[] scriptSigOffsets,
+        int[] outputOffsets,
+        int[] scriptPubkeyOffsets,
+        int[] witnessOffsets,
+        int outputsEnd,
+        int locktimeOffset
+    ) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = locktimeOffset + 4 - offset;
+        this.segwit = segwit;
+        this.inputOffsets = inputOffsets;
+        this.scriptSigOffsets = scriptSigOffsets;
+        this.outputOffsets = outputOffsets;
+        this.scriptPubkeyOffsets = scriptPubkeyOffsets;
+        this.witnessOffsets = witnessOffsets;
+        this.outputsEnd = outputsEnd;
+        this.locktimeOffset = locktimeOffset;
+    }
+
+    public static RawTransaction parse(byte[] bytes) {
+        return parse(ByteBuffer.wrap(bytes));
+    }
+
+    public static RawTransaction parse(ByteBuffer buffer) {
+        ByteBuffer source = buffer.duplicate();
+        int offset = buffer.position();
+        int position = offset + 4;
+        boolean segwit = false;
+        if (source.get(position) == 0) {
+            if (source.get(position + 1) != 1) {
+                throw new RuntimeException("Malformed segwit transaction.");
+            }
+            segwit = true;
+            position += 2;
+        }
+
+        int numInputs = readCount(source, position);
+        position += VarInt.encodedSize(source, position);
+        int[] inputOffsets = new int[numInputs];
+        int[] scriptSigOffsets = new int[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            inputOffsets[i] = position;
+            scriptSigOffsets[i] = position + 36;
+            position = skipScript(source, position + 36) + 4;
+        }
+
+        int numOutputs = readCount(source, position);
+        position += VarInt.encodedSize(source, position);
+        int[] outputOffsets = new int[numOutputs];
+        int[] scriptPubkeyOffsets = new int[numOutputs];
+        for (int i = 0; i < numOutputs; i++) {
+            outputOffsets[i] = position;
+            scriptPubkeyOffsets[i] = position + 8;
+            position = skipScript(source, position + 8);
+        }
+        int outputsEnd = position;
+
+        int[] witnessOffsets = new int[segwit ? numInputs : 0];
+        for (int i = 0; i < witnessOffsets.length; i++) {
+            witnessOffsets[i] = position;
+            int numItems = readCount(source, position);
+            position += VarInt.encodedSize(source, position);
+            for (int j = 0; j < numItems; j++) {
+                position = skipScript(source, position);
+            }
+        }
+
+        if (position + 4 > source.limit()) {
+            throw new RuntimeException("Parsing transaction failed");
+        }
+        buffer.position(position + 4);
+        return new RawTransaction(
+            source,
+            offset,
+            segwit,
+            inputOffsets,
+            scriptSigOffsets,
+            outputOffsets,
+            scriptPubkeyOffsets,
+            witnessOffsets,
+            outputsEnd,
+            position
+        );
+    }
+
+    private static int readCount(ByteBuffer buffer, int position) {
+        if (position >= buffer.limit()) {
+            throw new RuntimeException("Parsing transaction failed: unexpected end of data at offset ".concat(String.valueOf(position)));
+        }
+        long count = VarInt.read(buffer, position);
+        if (count < 0 || count > buffer.limit() - position) {
+            throw new RuntimeException("Parsing transaction failed");
+        }
+        return (int) count;
+    }
+
+    private static int skipScript(ByteBuffer buffer, int position) {
+        int scriptLength = readCount(buffer, position);
+        long end = (long) position + VarInt.encodedSize(buffer, position) + scriptLength;
+        if (end > buffer.limit()) {
+            throw new RuntimeException("Parsing transaction failed: script at offset " + position + " runs past the end of data");
+        }
+        return (int) end;
+    }
+
+    public Transaction toTransaction() {
+        ArrayList<TransactionInput> inputs = new ArrayList<>(inputOffsets.length);
+        for (int i = 0; i < inputOffsets.length; i++) {
+            inputs.add(getInput(i));
+        }
+        ArrayList<TransactionOutput> outputs = new ArrayList<>(outputOffsets.length);
+        for (int i = 0; i < outputOffsets.length; i++) {
+            outputs.add(getOutput(i));
+        }
+        return new Transaction(getVersion(), inputs, outputs, getLocktime(), segwit);
+    }
+
+    public TransactionInput getInput(int index) {
+        TransactionInput input = new TransactionInput(
+            getPreviousTxId(index),
+            getPreviousIndex(index),
+            getScriptSig(index),
+            getSequence(index)
+        );
+        if (segwit) {
+            input.setWitness(getWitness(index));
+        }
+        return input;
+    }
+
+    public TransactionOutput getOutput(int index) {
+        return new TransactionOutput(getAmount(index), getScriptPubkey(index));
+    }
+
+    public long getVersion() {
+        return LittleEndian.readInt(buffer, offset);
+    }
+
+    public long getLocktime() {
+        return LittleEndian.readInt(buffer, locktimeOffset);
+    }
+
+    public boolean isSegwit() {
+        return segwit;
+    }
+
+    public int getInputCount() {
+        return inputOffsets.length;
+    }
+
+    public int getOutputCount() {
+        return outputOffsets.length;
+    }
+
+    public String getPreviousTransactionId(int index) {
+        return Bytes.reverseToHex(Bytes.copy(buffer, inputOffsets[index], 32));
+    }
+
+    public TxId getPreviousTxId(int index) {
+        return TxId.fromBuffer(buffer, inputOffsets[index]);
+    }
+
+    public OutPoint getOutPoint(int index) {
+        return OutPoint.fromBuffer(buffer, inputOffsets[index]);
+    }
+
+    public long getPreviousIndex(int index) {
+        return LittleEndian.readInt(buffer, inputOffsets[index] + 32);
+    }
+
+    public long getSequence(int index) {
+        int scriptSigOffset = scriptSigOffsets[index];
+        return LittleEndian.readInt(buffer, scriptDataOffset(scriptSigOffset) + scriptLength(scriptSigOffset));
+    }
+
+    public Script getScriptSig(int index) {
+        int scriptSigOffset = scriptSigOffsets[index];
+        return Script.fromBuffer(buffer, scriptDataOffset(scriptSigOffset), scriptLength(scriptSigOffset));
+    }
+
+    public Witness getWitness(int index) {
+        if (!segwit) {
+            return new Witness(new ArrayList<>());
+        }
+        return Witness.fromBuffer(buffer, witnessOffsets[index]);
+    }
+
+    public long getAmount(int index) {
+        return LittleEndian.readLong(buffer, outputOffsets[index]);
+    }
+
+    public Script getScriptPubkey(int index) {
+        int scriptPubkeyOffset = scriptPubkeyOffsets[index];
+        return Script.fromBuffer(buffer, scriptDataOffset(scriptPubkeyOffset), scriptLength(scriptPubkeyOffset));
+    }
+
+    public byte[] getScriptPubkeyBytes(int index) {
+        int scriptPubkeyOffset = scriptPubkeyOffsets[index];
+        return Bytes.copy(buffer, scriptDataOffset(scriptPubkeyOffset), scriptLength(scriptPubkeyOffset));
+    }
+
+    private int scriptLength(int scriptOffset) {
+        return (int) VarInt.read(buffer, scriptOffset);
+    }
+
+    private int scriptDataOffset(int scriptOffset) {
+        return scriptOffset + VarInt.encodedSize(buffer, scriptOffset);
+    }
+
+    public int getSize() {
+        return length;
+    }
+
+    public int getStrippedSize() {
+        if (!segwit) {
+            return length;
+        }
+        return 8 + outputsEnd - (offset + 6);
+    }
+
+    public byte[] txidHash() {
+        if (!segwit) {
+            return wtxidHash();
+        }
+        try (HashingSink sink = HashingSink.get()) {
+            return sink
+                .write(buffer.slice(offset, 4))
+                .write(buffer.slice(offset + 6, outputsEnd - (offset + 6)))
+                .write(buffer.slice(locktimeOffset, 4))
+                .hash256();
+        }
+    }
+
+    public byte[] wtxidHash() {
+        return Hash256.hash(buffer.slice(offset, length));
+    }
+
+    public TxId txId() {
+        return TxId.fromHash(txidHash());
+    }
+
+    public String id() {
+        return Bytes.reverseToHex(txidHash());
+    }
+
+    public String wtxid() {
+        return Bytes.reverseToHex(wtxidHash());
+    }
+
+    public byte[] toBytes() {
+        return Bytes.copy(buffer, offset, length);
+    }
+}
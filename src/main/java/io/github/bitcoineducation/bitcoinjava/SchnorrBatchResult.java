@@ -0,0 +1,17 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+public class SchnorrBatchResult {
+    private final int invalidIndex;
+
+    SchnorrBatchResult(int invalidIndex) {
+        this.invalidIndex = invalidIndex;
+    }
+
+    public boolean isValid() {
+        return invalidIndex < 0;
+    }
+
+    public int getInvalidIndex() {
+        return invalidIndex;
+    }
+}
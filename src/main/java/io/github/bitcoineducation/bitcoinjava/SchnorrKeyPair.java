@@ -0,0 +1,81 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+
+public class SchnorrKeyPair {
+    private final BigInteger secret;
+
+    private final ECPoint publicKey;
+
+    private final BigInteger publicKeyX;
+
+    private final byte[] publicKeyXBytes;
+
+    public SchnorrKeyPair(BigInteger secret) {
+        if (secret.signum() <= 0 || secret.compareTo(SecP256K1.order) >= 0) {
+            throw new IllegalArgumentException("Secret cannot be greater than SecP256K1.order or equal 0");
+        }
+        ECPoint point = SecP256K1.multiplyG(secret).normalize();
+        if (point.getAffineYCoord().testBitZero()) {
+            this.secret = SecP256K1.order.subtract(secret);
+            this.publicKey = point.negate().normalize();
+        } else {
+            this.secret = secret;
+            this.publicKey = point;
+        }
+        this.publicKeyXBytes = publicKey.getAffineXCoord().getEncoded();
+        this.publicKeyX = new BigInteger(1, publicKeyXBytes);
+    }
+
+    public BigInteger sign(BigInteger message, BigInteger auxRand) {
+        return sign(message, auxRand, false);
+    }
+
+    public BigInteger sign(BigInteger message, BigInteger auxRand, boolean verifySignature) {
+        byte[] messageBytes = BigIntegers.asUnsignedByteArray(32, message);
+        BigInteger hashTagBIP0340Aux = TaggedHash.hashToBigInteger("BIP0340/aux", BigIntegers.asUnsignedByteArray(32, auxRand));
+        byte[] t = BigIntegers.asUnsignedByteArray(32, secret.xor(hashTagBIP0340Aux));
+        BigInteger k = TaggedHash.hashToBigInteger("BIP0340/nonce", t, publicKeyXBytes, messageBytes).mod(SecP256K1.order);
+        if (k.signum() == 0) {
+            throw new IllegalArgumentException("k cannot be equal to 0");
+        }
+        ECPoint r = SecP256K1.multiplyG(k).normalize();
+        if (r.getAffineYCoord().testBitZero()) {
+            k = SecP256K1.order.subtract(k);
+        }
+        byte[] rX = r.getAffineXCoord().getEncoded();
+        BigInteger e = TaggedHash.hashToBigInteger("BIP0340/challenge", rX, publicKeyXBytes, messageBytes).mod(SecP256K1.order);
+        BigInteger s = k.add(e.multiply(secret)).mod(SecP256K1.order);
+        if (verifySignature && !verifiesSignature(rX, s, e)) {
+            throw new IllegalArgumentException("Invalid signature");
+        }
+        byte[] signature = new byte[64];
+        System.arraycopy(rX, 0, signature, 0, 32);
+        System.arraycopy(BigIntegers.asUnsignedByteArray(32, s), 0, signature, 32, 32);
+        return new BigInteger(1, signature);
+    }
+
+    private boolean verifiesSignature(byte[] rX, BigInteger s, BigInteger e) {
+        ECPoint r = ECAlgorithms.sumOfTwoMultiplies(SecP256K1.G, s, publicKey, SecP256K1.order.subtract(e)).normalize();
+        if (r.isInfinity() || r.getAffineYCoord().testBitZero()) {
+            return false;
+        }
+        return new BigInteger(1, rX).equals(r.getAffineXCoord().toBigInteger());
+    }
+
+    public BigInteger getPublicKeyX() {
+        return publicKeyX;
+    }
+
+    public byte[] getPublicKeyXBytes() {
+        return publicKeyXBytes.clone();
+    }
+
+    public ECPoint getPublicKey() {
+        return publicKey;
+    }
+}
@@ -1,55 +1,27 @@
 package io.github.bitcoineducation.bitcoinjava;
 
+import org.bouncycastle.math.ec.ECAlgorithms;
 import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.pqc.math.linearalgebra.ByteUtils;
 import org.bouncycastle.util.BigIntegers;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
 
 import static io.github.bitcoineducation.bitcoinjava.BIP340.liftX;
 import static io.github.bitcoineducation.bitcoinjava.SecP256K1.*;
 import static java.math.BigInteger.*;
 
 public class SchnorrSigner {
-    public static BigInteger sign(BigInteger secret, BigInteger message, BigInteger auxRand) {
-        if (secret.equals(BigInteger.ZERO) || secret.compareTo(SecP256K1.order) >= 0) {
-            throw new IllegalArgumentException("Secret cannot be greater than SecP256K1.order or equal 0");
-        }
+    private static final SecureRandom random = new SecureRandom();
 
-        ECPoint point = SecP256K1.G.multiply(secret).normalize();
-        BigInteger y = point.getAffineYCoord().toBigInteger();
-        if (!y.mod(BigInteger.TWO).equals(BigInteger.ZERO)) {
-            secret = SecP256K1.order.subtract(secret);
-        }
-        BigInteger hashTagBIP0340Aux = TaggedHash.hashToBigInteger("BIP0340/aux", BigIntegers.asUnsignedByteArray(32, auxRand));
-        byte[] t = BigIntegers.asUnsignedByteArray(32, secret.xor(hashTagBIP0340Aux));
-        byte[] x = point.getAffineXCoord().getEncoded();
-        byte[] messageBytes = BigIntegers.asUnsignedByteArray(32, message);
-        byte[] combined = ByteUtils.concatenate(ByteUtils.concatenate(t,x), messageBytes);
-        BigInteger rand = TaggedHash.hashToBigInteger("BIP0340/nonce", combined);
-        BigInteger k = rand.mod(SecP256K1.order);
-        if (k.equals(BigInteger.ZERO)) {
-            throw new IllegalArgumentException("k cannot be equal to 0");
-        }
-        ECPoint r = SecP256K1.G.multiply(k).normalize();
-        BigInteger ry = r.getAffineYCoord().toBigInteger();
-        if (!ry.mod(BigInteger.TWO).equals(BigInteger.ZERO)) {
-            k = SecP256K1.order.subtract(k);
-        }
-        byte[] rX = r.getAffineXCoord().getEncoded();
-        byte[] combined2 = ByteUtils.concatenate(ByteUtils.concatenate(rX,x), messageBytes);
-        BigInteger e = TaggedHash.hashToBigInteger("BIP0340/challenge", combined2).mod(SecP256K1.order);
-
-        byte[] signatureBytes = ByteUtils.concatenate(rX, BigIntegers.asUnsignedByteArray(32, k.add(e.multiply(secret)).mod(SecP256K1.order)));
-        BigInteger signature = new BigInteger(1, signatureBytes);
-        if (!verify(new BigInteger(1, x), message, signature)) {
-            throw new IllegalArgumentException("Invalid signature");
-        }
-        return signature;
+    public static BigInteger sign(BigInteger secret, BigInteger message, BigInteger auxRand) {
+        return new SchnorrKeyPair(secret).sign(message, auxRand);
     }
 
     public static boolean verify(BigInteger pubKeyX, BigInteger message, BigInteger signature) {
-        ECPoint publicKey = liftX(pubKeyX);
+        ECPoint publicKey = PointDecoder.liftX(pubKeyX);
         if (publicKey == null) {
             return false;
         }
@@ -64,9 +36,8 @@ public class SchnorrSigner {
         }
         byte[] pubkeyXBytes = BigIntegers.asUnsignedByteArray(32, pubKeyX);
         byte[] messageBytes = BigIntegers.asUnsignedByteArray(32, message);
-        byte[] combined = ByteUtils.concatenate(ByteUtils.concatenate(r, pubkeyXBytes), messageBytes);
-        BigInteger e = TaggedHash.hashToBigInteger("BIP0340/challenge", combined).mod(SecP256K1.order);
-        ECPoint R = G.multiply(new BigInteger(1, s)).subtract(publicKey.multiply(e)).normalize();
+        BigInteger e = TaggedHash.hashToBigInteger("BIP0340/challenge", r, pubkeyXBytes, messageBytes).mod(SecP256K1.order);
+        ECPoint R = ECAlgorithms.sumOfTwoMultiplies(G, new BigInteger(1, s), publicKey, SecP256K1.order.subtract(e).mod(SecP256K1.order)).normalize();
         if (R.isInfinity()) {
             return false;
         }
@@ -76,4 +47,105 @@ public class SchnorrSigner {
         return R.getAffineXCoord().toBigInteger().equals(new BigInteger(1, r));
     }
 
+    public static SchnorrBatchResult verifyBatch(List<BigInteger> pubKeyXs, List<BigInteger> messages, List<BigInteger> signatures) {
+        BatchEntry[] entries = parseBatch(pubKeyXs, messages, signatures);
+        if (verifyBatch(entries, 0, entries.length)) {
+            return new SchnorrBatchResult(-1);
+        }
+        return new SchnorrBatchResult(findInvalid(entries, 0, entries.length));
+    }
+
+    private static int findInvalid(BatchEntry[] entries, int from, int to) {
+        if (to - from == 1) {
+            return from;
+        }
+        int middle = (from + to) >>> 1;
+        if (!verifyBatch(entries, from, middle)) {
+            return findInvalid(entries, from, middle);
+        }
+        return findInvalid(entries, middle, to);
+    }
+
+    private static boolean verifyBatch(BatchEntry[] entries, int from, int to) {
+        int count = to - from;
+        ECPoint[] points = new ECPoint[1 + 2 * count];
+        BigInteger[] scalars = new BigInteger[1 + 2 * count];
+        BigInteger sSum = ZERO;
+        for (int i = 0; i < count; i++) {
+            BatchEntry entry = entries[from + i];
+            if (entry == null) {
+                return false;
+            }
+            BigInteger a = i == 0 ? ONE : randomScalar();
+            sSum = sSum.add(a.multiply(entry.s)).mod(SecP256K1.order);
+            points[1 + 2 * i] = entry.r;
+            scalars[1 + 2 * i] = a;
+            points[2 + 2 * i] = entry.publicKey;
+            scalars[2 + 2 * i] = a.multiply(entry.e).mod(SecP256K1.order);
+        }
+        points[0] = G;
+        scalars[0] = SecP256K1.order.subtract(sSum).mod(SecP256K1.order);
+        return ECAlgorithms.sumOfMultiplies(points, scalars).isInfinity();
+    }
+
+    private static BigInteger randomScalar() {
+        BigInteger a;
+        do {
+            a = new BigInteger(256, random).mod(SecP256K1.order);
+        } while (a.signum() == 0);
+        return a;
+    }
+
+    private static BatchEntry[] parseBatch(List<BigInteger> pubKeyXs, List<BigInteger> messages, List<BigInteger> signatures) {
+        if (pubKeyXs.size() != messages.size() || messages.size() != signatures.size()) {
+            throw new IllegalArgumentException("Public keys, messages and signatures must have the same size.");
+        }
+        BatchEntry[] entries = new BatchEntry[signatures.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = parseBatchEntry(pubKeyXs.get(i), messages.get(i), signatures.get(i));
+        }
+        return entries;
+    }
+
+    private static BatchEntry parseBatchEntry(BigInteger pubKeyX, BigInteger message, BigInteger signature) {
+        ECPoint publicKey = PointDecoder.liftX(pubKeyX);
+        if (publicKey == null || signature.bitLength() > 512) {
+            return null;
+        }
+        byte[] signatureBytes = BigIntegers.asUnsignedByteArray(64, signature);
+        byte[] r = ByteUtils.subArray(signatureBytes, 0, 32);
+        BigInteger rNum = new BigInteger(1, r);
+        if (rNum.compareTo(SecP256K1.curve.getQ()) >= 0) {
+            return null;
+        }
+        BigInteger s = new BigInteger(1, ByteUtils.subArray(signatureBytes, 32, 64));
+        if (s.compareTo(SecP256K1.order) >= 0) {
+            return null;
+        }
+        ECPoint rPoint = liftX(rNum);
+        if (rPoint == null) {
+            return null;
+        }
+        byte[] pubkeyXBytes = BigIntegers.asUnsignedByteArray(32, pubKeyX);
+        byte[] messageBytes = BigIntegers.asUnsignedByteArray(32, message);
+        BigInteger e = TaggedHash.hashToBigInteger("BIP0340/challenge", r, pubkeyXBytes, messageBytes).mod(SecP256K1.order);
+        return new BatchEntry(publicKey, rPoint, s, e);
+    }
+
+    private static class BatchEntry {
+        private final ECPoint publicKey;
+
+        private final ECPoint r;
+
+        private final BigInteger s;
+
+        private final BigInteger e;
+
+        private BatchEntry(ECPoint publicKey, ECPoint r, BigInteger s, BigInteger e) {
+            this.publicKey = publicKey;
+            this.r = r;
+            this.s = s;
+            this.e = e;
+        }
+    }
 }
@@ -5,9 +5,12 @@ import org.bouncycastle.util.encoders.Hex;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static java.math.BigInteger.*;
@@ -23,10 +26,19 @@ public class Script {
 
     private final List<Object> commands;
 
+    private volatile long modificationStamp;
+
+    private volatile byte[] raw;
+
     public Script(List<Object> commands) {
         this.commands = commands;
     }
 
+    private Script(List<Object> commands, byte[] raw) {
+        this.commands = commands;
+        this.raw = raw;
+    }
+
     public static Script fromByteStream(ByteArrayInputStream stream) throws IOException {
         BigInteger length = VarInt.fromByteStream(stream);
         ArrayList<Object> commands = new ArrayList<>();
@@ -56,28 +68,106 @@ public class Script {
         return new Script(commands);
     }
 
+    public static Script fromBuffer(ByteBuffer buffer, int offset, int length) {
+        ArrayList<Object> commands = new ArrayList<>();
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int current = buffer.get(position++) & 0xff;
+            int dataLength;
+            if (current >= 1 && current <= 75) {
+                dataLength = current;
+            } else if (current == OpCodes.OP_PUSHDATA1) {
+                dataLength = buffer.get(position) & 0xff;
+                position++;
+            } else if (current == OpCodes.OP_PUSHDATA2) {
+                dataLength = (buffer.get(position) & 0xff) | (buffer.get(position + 1) & 0xff) << 8;
+                position += 2;
+            } else {
+                commands.add(valueOf(current));
+                continue;
+            }
+            commands.add(Hex.toHexString(Bytes.copy(buffer, position, dataLength)));
+            position += dataLength;
+        }
+        if (position != end) {
+            throw new RuntimeException("Parsing script failed");
+        }
+        return new Script(commands, Bytes.copy(buffer, offset, length));
+    }
+
     public String rawSerialize() {
-        StringBuilder stringBuilder = new StringBuilder();
-        commands.forEach(command -> {
+        return Hex.toHexString(rawToBytes());
+    }
+
+    public byte[] rawToBytes() {
+        return rawBytes().clone();
+    }
+
+    public int rawSerializedSize() {
+        return rawBytes().length;
+    }
+
+    public void rawWriteTo(ByteBuffer buffer) {
+        buffer.put(rawBytes());
+    }
+
+    private byte[] rawBytes() {
+        byte[] currentRaw = raw;
+        if (currentRaw == null) {
+            currentRaw = encode();
+            raw = currentRaw;
+        }
+        return currentRaw;
+    }
+
+    private int encodedSize() {
+        int size = 0;
+        for (Object command : commands) {
             if (command instanceof BigInteger) {
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex((BigInteger) command, 1));
-                return;
+                size++;
+                continue;
             }
             int length = ((String) command).length() / 2;
-            if (length < 75) {
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(valueOf(length), 1));
-            } else if (length > 75 && length <= 255) {
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(valueOf(76), 1));
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(valueOf(length), 1));
-            } else if (length >= 256 && length <= 520) {
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(valueOf(77), 1));
-                stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(valueOf(length), 2));
-            } else {
-                throw new RuntimeException("Command too long");
+            size += pushPrefixSize(length) + length;
+        }
+        return size;
+    }
+
+    private byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+        for (Object command : commands) {
+            if (command instanceof BigInteger) {
+                buffer.put(((BigInteger) command).byteValue());
+                continue;
             }
-            stringBuilder.append(command);
-        });
-        return stringBuilder.toString();
+            byte[] data = Hex.decodeStrict((String) command);
+            switch (pushPrefixSize(data.length)) {
+                case 1 -> buffer.put((byte) data.length);
+                case 2 -> {
+                    buffer.put((byte) OpCodes.OP_PUSHDATA1);
+                    buffer.put((byte) data.length);
+                }
+                default -> {
+                    buffer.put((byte) OpCodes.OP_PUSHDATA2);
+                    buffer.put((byte) data.length);
+                    buffer.put((byte) (data.length >>> 8));
+                }
+            }
+            buffer.put(data);
+        }
+        return buffer.array();
+    }
+
+    private static int pushPrefixSize(int length) {
+        if (length <= 75) {
+            return 1;
+        } else if (length <= 255) {
+            return 2;
+        } else if (length <= 520) {
+            return 3;
+        }
+        throw new RuntimeException("Command too long");
     }
 
     public String rawSerializeForSegwitSigHash() {
@@ -93,13 +183,29 @@ public class Script {
     }
 
     public String serialize() throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        String rawSerialized = rawSerialize();
-        BigInteger length = valueOf(rawSerialized.length()).divide(BigInteger.TWO);
-        return stringBuilder
-            .append(VarInt.toHex(length))
-            .append(rawSerialized)
-            .toString();
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    public int serializedSize() {
+        int rawSize = rawSerializedSize();
+        return VarInt.size(rawSize) + rawSize;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        VarInt.write(buffer, rawSerializedSize());
+        rawWriteTo(buffer);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        byte[] rawBytes = rawBytes();
+        VarInt.write(outputStream, rawBytes.length);
+        outputStream.write(rawBytes);
     }
 
     public String serializeForSegwitSigHash() {
@@ -113,7 +219,7 @@ public class Script {
     }
 
     public List<Object> getCommands() {
-        return commands;
+        return Collections.unmodifiableList(commands);
     }
 
     public String p2pkhAddress(String prefix) {
@@ -131,7 +237,7 @@ public class Script {
     public String p2shAddress(String prefix) {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         byteArrayOutputStream.writeBytes(Hex.decodeStrict(prefix));
-        byteArrayOutputStream.writeBytes(Hex.decode(Hash160.hashToHex(Hex.decode(rawSerialize()))));
+        byteArrayOutputStream.writeBytes(Hash160.hash(rawToBytes()));
         return Base58.encodeWithChecksum(byteArrayOutputStream.toByteArray());
     }
 
@@ -140,7 +246,7 @@ public class Script {
     }
 
     public String p2wshAddress(String prefix) {
-        return Bech32.encode(prefix, 0, Sha256.hash(Hex.decode(rawSerialize())));
+        return Bech32.encode(prefix, 0, Sha256.hash(rawToBytes()));
     }
 
     public static Script p2pkhScript(String hash160Pubkey) {
@@ -165,13 +271,16 @@ public class Script {
 
     public void appendCommand(Object command) {
         commands.add(command);
+        raw = null;
+        modificationStamp = ModificationStamp.next();
     }
 
-    public String getType() {
-        String rawSerialized = rawSerialize();
-        BigInteger length = valueOf(rawSerialized.length()).divide(BigInteger.TWO);
+    long getModificationStamp() {
+        return modificationStamp;
+    }
 
-        switch (length.intValueExact()) {
+    public String getType() {
+        switch (rawSerializedSize()) {
             case 25 -> {
                 if (isP2PKH()) {
                     return P2PKH;
@@ -0,0 +1,109 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.nio.ByteBuffer;
+
+public class SegwitSigHasher {
+    private static final int SIGHASH_NONE = SigHashTypes.SIGHASH_NONE.intValue();
+
+    private static final int SIGHASH_SINGLE = SigHashTypes.SIGHASH_SINGLE.intValue();
+
+    private static final int SIGHASH_ANYONECANPAY = SigHashTypes.SIGHASH_ANYONECANPAY.intValue();
+
+    private static final byte[] ZERO_HASH = new byte[32];
+
+    private final TransactionSnapshot snapshot;
+
+    private final Transaction transaction;
+
+    private final TransactionInput[] inputs;
+
+    private final TransactionOutput[] outputs;
+
+    private final byte[] hashPrevOuts;
+
+    private final byte[] hashSequence;
+
+    private final byte[] hashOutputs;
+
+    public SegwitSigHasher(Transaction transaction) {
+        this.snapshot = new TransactionSnapshot(transaction);
+        this.transaction = transaction;
+        this.inputs = snapshot.inputs;
+        this.outputs = snapshot.outputs;
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer prevOuts = sink.scratch(inputs.length * OutPoint.SIZE);
+            for (TransactionInput input : inputs) {
+                input.writeOutpointTo(prevOuts);
+            }
+            this.hashPrevOuts = sink.writeScratch().hash256();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer sequences = sink.scratch(inputs.length * 4);
+            for (TransactionInput input : inputs) {
+                LittleEndian.writeInt(sequences, input.getSequenceAsLong());
+            }
+            this.hashSequence = sink.writeScratch().hash256();
+        }
+
+        int outputsSize = 0;
+        for (TransactionOutput output : outputs) {
+            outputsSize += output.serializedSize();
+        }
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer allOutputs = sink.scratch(outputsSize);
+            for (TransactionOutput output : outputs) {
+                output.writeTo(allOutputs);
+            }
+            this.hashOutputs = sink.writeScratch().hash256();
+        }
+    }
+
+    public byte[] sigHash(int inputIndex, byte[] scriptCode, long amount, int sigHashType) {
+        if (inputIndex < 0 || inputIndex >= inputs.length) {
+            throw new IllegalArgumentException("Input index out of range: ".concat(Integer.toString(inputIndex)));
+        }
+        boolean anyoneCanPay = (sigHashType & SIGHASH_ANYONECANPAY) != 0;
+        int baseType = sigHashType & 0x1f;
+        TransactionInput input = inputs[inputIndex];
+
+        byte[] singleOutputHash = null;
+        if (baseType == SIGHASH_SINGLE && inputIndex < outputs.length) {
+            try (HashingSink outputSink = HashingSink.get()) {
+                outputs[inputIndex].writeTo(outputSink.scratch(outputs[inputIndex].serializedSize()));
+                singleOutputHash = outputSink.writeScratch().hash256();
+            }
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer preimage = sink.scratch(156 + VarInt.size(scriptCode.length) + scriptCode.length);
+            LittleEndian.writeInt(preimage, transaction.getVersionAsLong());
+            preimage.put(anyoneCanPay ? ZERO_HASH : hashPrevOuts);
+            preimage.put(anyoneCanPay || baseType == SIGHASH_SINGLE || baseType == SIGHASH_NONE ? ZERO_HASH : hashSequence);
+            input.writeOutpointTo(preimage);
+            VarInt.write(preimage, scriptCode.length);
+            preimage.put(scriptCode);
+            LittleEndian.writeLong(preimage, amount);
+            LittleEndian.writeInt(preimage, input.getSequenceAsLong());
+            if (baseType != SIGHASH_SINGLE && baseType != SIGHASH_NONE) {
+                preimage.put(hashOutputs);
+            } else if (singleOutputHash != null) {
+                preimage.put(singleOutputHash);
+            } else {
+                preimage.put(ZERO_HASH);
+            }
+            LittleEndian.writeInt(preimage, transaction.getLocktimeAsLong());
+            LittleEndian.writeInt(preimage, Integer.toUnsignedLong(sigHashType));
+            return sink.writeScratch().hash256();
+        }
+    }
+
+    public byte[] sigHash(int inputIndex, Script scriptCode, long amount, int sigHashType) {
+        return sigHash(inputIndex, scriptCode.rawToBytes(), amount, sigHashType);
+    }
+
+    boolean isStale() {
+        return snapshot.isStale();
+    }
+}
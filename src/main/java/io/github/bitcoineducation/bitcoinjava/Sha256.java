@@ -2,19 +2,25 @@ package io.github.bitcoineducation.bitcoinjava;
 
 import org.bouncycastle.util.encoders.Hex;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.NoSuchElementException;
+import java.nio.ByteBuffer;
 
 public class Sha256 {
     public static byte[] hash(byte[] key) {
-        MessageDigest sha256 = null;
-        try {
-            sha256 = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new NoSuchElementException("Algorithm SHA-256 not found. You may need to add BouncyCastleProvider as a security provider in your project.");
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key).sha256();
+        }
+    }
+
+    public static byte[] hash(byte[] key, int offset, int length) {
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key, offset, length).sha256();
+        }
+    }
+
+    public static byte[] hash(ByteBuffer key) {
+        try (HashingSink sink = HashingSink.get()) {
+            return sink.write(key).sha256();
         }
-        return sha256.digest(key);
     }
 
     public static String hashToHex(String key) {
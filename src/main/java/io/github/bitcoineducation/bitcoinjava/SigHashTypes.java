@@ -3,5 +3,9 @@ package io.github.bitcoineducation.bitcoinjava;
 import java.math.BigInteger;
 
 public class SigHashTypes {
+    public static final BigInteger SIGHASH_DEFAULT = BigInteger.ZERO;
     public static final BigInteger SIGHASH_ALL = BigInteger.ONE;
+    public static final BigInteger SIGHASH_NONE = BigInteger.TWO;
+    public static final BigInteger SIGHASH_SINGLE = BigInteger.valueOf(3);
+    public static final BigInteger SIGHASH_ANYONECANPAY = BigInteger.valueOf(0x80);
 }
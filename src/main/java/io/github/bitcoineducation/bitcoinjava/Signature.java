@@ -5,6 +5,7 @@ import org.bouncycastle.util.encoders.Hex;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 public class Signature {
     private final BigInteger r;
@@ -15,6 +16,52 @@ public class Signature {
         this.s = s;
     }
 
+    public static Signature fromDer(byte[] der) {
+        if (!isStrictDer(der)) {
+            throw new IllegalArgumentException("Signature is not strict DER encoded.");
+        }
+        int rLength = der[3] & 0xff;
+        int sLength = der[5 + rLength] & 0xff;
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(der, 4, 4 + rLength));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(der, 6 + rLength, 6 + rLength + sLength));
+        return new Signature(r, s);
+    }
+
+    public static Signature fromDerHex(String derHex) {
+        return fromDer(Hex.decodeStrict(derHex));
+    }
+
+    public static boolean isStrictDer(byte[] der) {
+        if (der.length < 8 || der.length > 72) {
+            return false;
+        }
+        if (der[0] != 0x30 || der[1] != der.length - 2) {
+            return false;
+        }
+        int rLength = der[3] & 0xff;
+        if (5 + rLength >= der.length) {
+            return false;
+        }
+        int sLength = der[5 + rLength] & 0xff;
+        if (rLength + sLength + 6 != der.length) {
+            return false;
+        }
+        if (der[2] != 0x02 || rLength == 0 || (der[4] & 0x80) != 0) {
+            return false;
+        }
+        if (rLength > 1 && der[4] == 0 && (der[5] & 0x80) == 0) {
+            return false;
+        }
+        if (der[rLength + 4] != 0x02 || sLength == 0 || (der[rLength + 6] & 0x80) != 0) {
+            return false;
+        }
+        return sLength <= 1 || der[rLength + 6] != 0 || (der[rLength + 7] & 0x80) != 0;
+    }
+
+    public boolean hasLowS() {
+        return s.compareTo(SecP256K1.order.shiftRight(1)) <= 0;
+    }
+
     public BigInteger getS() {
         return s;
     }
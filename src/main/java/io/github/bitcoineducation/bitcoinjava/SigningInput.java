@@ -0,0 +1,78 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.math.BigInteger;
+import java.util.List;
+
+public class SigningInput {
+    public enum Type {
+        P2PKH,
+        P2WPKH,
+        P2SH_P2WPKH,
+        P2SH,
+        P2WSH,
+        P2TR
+    }
+
+    private final Type type;
+
+    private final int index;
+
+    private final List<PrivateKey> privateKeys;
+
+    private final Script redeemScript;
+
+    private final BigInteger amount;
+
+    private SigningInput(Type type, int index, List<PrivateKey> privateKeys, Script redeemScript, BigInteger amount) {
+        this.type = type;
+        this.index = index;
+        this.privateKeys = privateKeys;
+        this.redeemScript = redeemScript;
+        this.amount = amount;
+    }
+
+    public static SigningInput p2pkh(int index, PrivateKey privateKey) {
+        return new SigningInput(Type.P2PKH, index, List.of(privateKey), null, null);
+    }
+
+    public static SigningInput p2wpkh(int index, PrivateKey privateKey, BigInteger amount) {
+        return new SigningInput(Type.P2WPKH, index, List.of(privateKey), null, amount);
+    }
+
+    public static SigningInput p2shP2wpkh(int index, PrivateKey privateKey, BigInteger amount) {
+        Script redeemScript = Script.p2wpkhScript(Hash160.hashToHex(privateKey.getPublicKey().getCompressedPublicKey()));
+        return new SigningInput(Type.P2SH_P2WPKH, index, List.of(privateKey), redeemScript, amount);
+    }
+
+    public static SigningInput p2sh(int index, List<PrivateKey> privateKeys, Script redeemScript) {
+        return new SigningInput(Type.P2SH, index, List.copyOf(privateKeys), redeemScript, null);
+    }
+
+    public static SigningInput p2wsh(int index, List<PrivateKey> privateKeys, Script witnessScript, BigInteger amount) {
+        return new SigningInput(Type.P2WSH, index, List.copyOf(privateKeys), witnessScript, amount);
+    }
+
+    public static SigningInput p2tr(int index, PrivateKey tweakedPrivateKey) {
+        return new SigningInput(Type.P2TR, index, List.of(tweakedPrivateKey), null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public List<PrivateKey> getPrivateKeys() {
+        return privateKeys;
+    }
+
+    public Script getRedeemScript() {
+        return redeemScript;
+    }
+
+    public BigInteger getAmount() {
+        return amount;
+    }
+}
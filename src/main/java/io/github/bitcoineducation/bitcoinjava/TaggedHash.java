@@ -1,18 +1,72 @@
 package io.github.bitcoineducation.bitcoinjava;
 
-import org.bouncycastle.pqc.math.linearalgebra.ByteUtils;
+import org.bouncycastle.crypto.digests.SHA256Digest;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class TaggedHash {
+    private static final List<String> KNOWN_TAGS = List.of(
+        "BIP0340/aux",
+        "BIP0340/nonce",
+        "BIP0340/challenge",
+        "TapLeaf",
+        "TapBranch",
+        "TapTweak",
+        "TapSighash"
+    );
+
+    private static final Map<String, SHA256Digest> midstates = KNOWN_TAGS.stream()
+        .collect(Collectors.toUnmodifiableMap(Function.identity(), TaggedHash::absorbTag));
+
     public static byte[] hash(String tag, byte[] key) {
-        byte[] shaTag = Sha256.hash(tag.getBytes(StandardCharsets.UTF_8));
-        byte[] shaTags = ByteUtils.concatenate(shaTag, shaTag);
-        return Sha256.hash(ByteUtils.concatenate(shaTags, key));
+        SHA256Digest digest = new SHA256Digest(midstate(tag));
+        digest.update(key, 0, key.length);
+        return doFinal(digest);
+    }
+
+    public static byte[] hash(String tag, byte[] bytes, int offset, int length) {
+        SHA256Digest digest = new SHA256Digest(midstate(tag));
+        digest.update(bytes, offset, length);
+        return doFinal(digest);
+    }
+
+    public static byte[] hash(String tag, byte[]... parts) {
+        SHA256Digest digest = new SHA256Digest(midstate(tag));
+        for (byte[] part : parts) {
+            digest.update(part, 0, part.length);
+        }
+        return doFinal(digest);
     }
 
     public static BigInteger hashToBigInteger(String tag, byte[] key) {
         return new BigInteger(1, hash(tag, key));
     }
+
+    public static BigInteger hashToBigInteger(String tag, byte[]... parts) {
+        return new BigInteger(1, hash(tag, parts));
+    }
+
+    private static SHA256Digest midstate(String tag) {
+        SHA256Digest midstate = midstates.get(tag);
+        return midstate != null ? midstate : absorbTag(tag);
+    }
+
+    private static SHA256Digest absorbTag(String tag) {
+        byte[] shaTag = Sha256.hash(tag.getBytes(StandardCharsets.UTF_8));
+        SHA256Digest digest = new SHA256Digest();
+        digest.update(shaTag, 0, shaTag.length);
+        digest.update(shaTag, 0, shaTag.length);
+        return digest;
+    }
+
+    private static byte[] doFinal(SHA256Digest digest) {
+        byte[] result = new byte[digest.getDigestSize()];
+        digest.doFinal(result, 0);
+        return result;
+    }
 }
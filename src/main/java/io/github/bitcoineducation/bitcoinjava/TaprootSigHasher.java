@@ -0,0 +1,249 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class TaprootSigHasher {
+    public static final int TAPSCRIPT_LEAF_VERSION = 0xc0;
+
+    public static final long NO_CODE_SEPARATOR = 0xffffffffL;
+
+    private static final int SIGHASH_DEFAULT = SigHashTypes.SIGHASH_DEFAULT.intValue();
+
+    private static final int SIGHASH_ALL = SigHashTypes.SIGHASH_ALL.intValue();
+
+    private static final int SIGHASH_NONE = SigHashTypes.SIGHASH_NONE.intValue();
+
+    private static final int SIGHASH_SINGLE = SigHashTypes.SIGHASH_SINGLE.intValue();
+
+    private static final int SIGHASH_ANYONECANPAY = SigHashTypes.SIGHASH_ANYONECANPAY.intValue();
+
+    private static final int MAX_SIG_MSG_SIZE = 320;
+
+    private static final byte EPOCH = 0;
+
+    private static final byte KEY_VERSION = 0;
+
+    private final TransactionSnapshot snapshot;
+
+    private final Transaction transaction;
+
+    private final TransactionInput[] inputs;
+
+    private final TransactionOutput[] outputs;
+
+    private final TransactionOutput[] spentOutputs;
+
+    private final Script[] spentScripts;
+
+    private final byte[][] spentScriptPubkeys;
+
+    private final byte[] shaPrevOuts;
+
+    private final byte[] shaAmounts;
+
+    private final byte[] shaScriptPubkeys;
+
+    private final byte[] shaSequences;
+
+    private final byte[] shaOutputs;
+
+    public TaprootSigHasher(Transaction transaction, List<TransactionOutput> spentOutputs) {
+        this.snapshot = new TransactionSnapshot(transaction);
+        this.transaction = transaction;
+        this.inputs = snapshot.inputs;
+        this.outputs = snapshot.outputs;
+        this.spentOutputs = spentOutputs.toArray(new TransactionOutput[0]);
+        if (this.spentOutputs.length != inputs.length) {
+            throw new IllegalArgumentException("Taproot sighash requires one spent output per input.");
+        }
+        this.spentScripts = new Script[this.spentOutputs.length];
+        this.spentScriptPubkeys = new byte[this.spentOutputs.length][];
+        for (int i = 0; i < this.spentOutputs.length; i++) {
+            spentScripts[i] = this.spentOutputs[i].getScriptPubkey();
+            spentScriptPubkeys[i] = spentScripts[i].toBytes();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer prevOuts = sink.scratch(inputs.length * OutPoint.SIZE);
+            for (TransactionInput input : inputs) {
+                input.writeOutpointTo(prevOuts);
+            }
+            this.shaPrevOuts = sink.writeScratch().sha256();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer amounts = sink.scratch(this.spentOutputs.length * 8);
+            for (TransactionOutput spentOutput : this.spentOutputs) {
+                LittleEndian.writeLong(amounts, spentOutput.getAmountAsLong());
+            }
+            this.shaAmounts = sink.writeScratch().sha256();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            for (byte[] spentScriptPubkey : spentScriptPubkeys) {
+                sink.write(spentScriptPubkey);
+            }
+            this.shaScriptPubkeys = sink.sha256();
+        }
+
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer sequences = sink.scratch(inputs.length * 4);
+            for (TransactionInput input : inputs) {
+                LittleEndian.writeInt(sequences, input.getSequenceAsLong());
+            }
+            this.shaSequences = sink.writeScratch().sha256();
+        }
+
+        int outputsSize = 0;
+        for (TransactionOutput output : outputs) {
+            outputsSize += output.serializedSize();
+        }
+        try (HashingSink sink = HashingSink.get()) {
+            ByteBuffer allOutputs = sink.scratch(outputsSize);
+            for (TransactionOutput output : outputs) {
+                output.writeTo(allOutputs);
+            }
+            this.shaOutputs = sink.writeScratch().sha256();
+        }
+    }
+
+    public static byte[] tapLeafHash(Script script) {
+        return tapLeafHash(script, TAPSCRIPT_LEAF_VERSION);
+    }
+
+    public static byte[] tapLeafHash(Script script, int leafVersion) {
+        ByteBuffer leaf = ByteBuffer.allocate(1 + script.serializedSize());
+        leaf.put((byte) leafVersion);
+        script.writeTo(leaf);
+        return TaggedHash.hash("TapLeaf", leaf.array());
+    }
+
+    public byte[] sigHash(int inputIndex, int hashType) {
+        return sigHash(inputIndex, hashType, null, null, NO_CODE_SEPARATOR);
+    }
+
+    public byte[] sigHash(int inputIndex, int hashType, byte[] annex) {
+        return sigHash(inputIndex, hashType, annex, null, NO_CODE_SEPARATOR);
+    }
+
+    public byte[] sigHashScriptPath(int inputIndex, int hashType, byte[] tapLeafHash, long codeSeparatorPosition) {
+        return sigHash(inputIndex, hashType, null, tapLeafHash, codeSeparatorPosition);
+    }
+
+    public byte[] sigHash(int inputIndex, int hashType, byte[] annex, byte[] tapLeafHash, long codeSeparatorPosition) {
+        ByteBuffer preimage = writeSigMsg(true, inputIndex, hashType, annex, tapLeafHash, codeSeparatorPosition);
+        return TaggedHash.hash("TapSighash", preimage.array(), 0, preimage.position());
+    }
+
+    public byte[] sigMsg(int inputIndex, int hashType, byte[] annex, byte[] tapLeafHash, long codeSeparatorPosition) {
+        ByteBuffer sigMsg = writeSigMsg(false, inputIndex, hashType, annex, tapLeafHash, codeSeparatorPosition);
+        return Bytes.copy(sigMsg, 0, sigMsg.position());
+    }
+
+    private ByteBuffer writeSigMsg(boolean withEpoch, int inputIndex, int hashType, byte[] annex, byte[] tapLeafHash, long codeSeparatorPosition) {
+        if (inputIndex < 0 || inputIndex >= inputs.length) {
+            throw new IllegalArgumentException("Input index out of range: ".concat(Integer.toString(inputIndex)));
+        }
+        int baseType = hashType & 0x03;
+        boolean anyoneCanPay = (hashType & SIGHASH_ANYONECANPAY) != 0;
+        if (hashType != SIGHASH_DEFAULT && ((hashType & ~(SIGHASH_ANYONECANPAY | 0x03)) != 0 || baseType == 0)) {
+            throw new IllegalArgumentException("Invalid taproot sighash type: ".concat(Integer.toHexString(hashType)));
+        }
+        if (baseType == SIGHASH_SINGLE && inputIndex >= outputs.length) {
+            throw new IllegalArgumentException("SIGHASH_SINGLE requires an output with the same index as the input.");
+        }
+        if (annex != null && (annex.length == 0 || annex[0] != 0x50)) {
+            throw new IllegalArgumentException("Annex must start with 0x50.");
+        }
+        if (tapLeafHash != null && tapLeafHash.length != 32) {
+            throw new IllegalArgumentException("Tapleaf hash must have 32 bytes.");
+        }
+
+        byte[] shaAnnex = null;
+        if (annex != null) {
+            try (HashingSink sink = HashingSink.get()) {
+                ByteBuffer serializedAnnex = sink.scratch(VarInt.size(annex.length) + annex.length);
+                VarInt.write(serializedAnnex, annex.length);
+                serializedAnnex.put(annex);
+                shaAnnex = sink.writeScratch().sha256();
+            }
+        }
+        byte[] shaSingleOutput = null;
+        if (baseType == SIGHASH_SINGLE) {
+            try (HashingSink sink = HashingSink.get()) {
+                outputs[inputIndex].writeTo(sink.scratch(outputs[inputIndex].serializedSize()));
+                shaSingleOutput = sink.writeScratch().sha256();
+            }
+        }
+
+        TransactionInput input = inputs[inputIndex];
+        byte[] spentScriptPubkey = spentScriptPubkeys[inputIndex];
+        ByteBuffer sigMsg = ByteBuffer.allocate(MAX_SIG_MSG_SIZE + spentScriptPubkey.length);
+        if (withEpoch) {
+            sigMsg.put(EPOCH);
+        }
+        sigMsg.put((byte) hashType);
+        LittleEndian.writeInt(sigMsg, transaction.getVersionAsLong());
+        LittleEndian.writeInt(sigMsg, transaction.getLocktimeAsLong());
+        if (!anyoneCanPay) {
+            sigMsg.put(shaPrevOuts);
+            sigMsg.put(shaAmounts);
+            sigMsg.put(shaScriptPubkeys);
+            sigMsg.put(shaSequences);
+        }
+        if (baseType != SIGHASH_NONE && baseType != SIGHASH_SINGLE) {
+            sigMsg.put(shaOutputs);
+        }
+        int extFlag = tapLeafHash == null ? 0 : 1;
+        sigMsg.put((byte) (extFlag * 2 + (annex == null ? 0 : 1)));
+        if (anyoneCanPay) {
+            input.writeOutpointTo(sigMsg);
+            LittleEndian.writeLong(sigMsg, spentOutputs[inputIndex].getAmountAsLong());
+            sigMsg.put(spentScriptPubkey);
+            LittleEndian.writeInt(sigMsg, input.getSequenceAsLong());
+        } else {
+            LittleEndian.writeInt(sigMsg, inputIndex);
+        }
+        if (shaAnnex != null) {
+            sigMsg.put(shaAnnex);
+        }
+        if (shaSingleOutput != null) {
+            sigMsg.put(shaSingleOutput);
+        }
+        if (tapLeafHash != null) {
+            sigMsg.put(tapLeafHash);
+            sigMsg.put(KEY_VERSION);
+            LittleEndian.writeInt(sigMsg, codeSeparatorPosition);
+        }
+        return sigMsg;
+    }
+
+    boolean isStale() {
+        return snapshot.isStale();
+    }
+
+    boolean spends(List<TransactionOutput> otherSpentOutputs) {
+        if (otherSpentOutputs.size() != spentOutputs.length) {
+            return false;
+        }
+        for (int i = 0; i < spentOutputs.length; i++) {
+            TransactionOutput spentOutput = otherSpentOutputs.get(i);
+            if (spentOutput == spentOutputs[i] && spentOutput.getModificationStamp() <= snapshot.stamp) {
+                continue;
+            }
+            if (spentOutput.getAmountAsLong() != spentOutputs[i].getAmountAsLong()) {
+                return false;
+            }
+            Script script = spentOutput.getScriptPubkey();
+            if (script == spentScripts[i] && script.getModificationStamp() <= snapshot.stamp) {
+                continue;
+            }
+            if (!Arrays.equals(script.toBytes(), spentScriptPubkeys[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,45 +4,42 @@ import org.bouncycastle.util.encoders.Hex;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
-
-import static java.util.Objects.isNull;
 
 public class Transaction {
     private static final String SEGWIT_MARKER = "00";
 
     private static final String SEGWIT_FLAG = "01";
 
-    private final BigInteger version;
+    private final long version;
 
     private final ArrayList<TransactionInput> inputs;
 
     private final ArrayList<TransactionOutput> outputs;
 
-    private final BigInteger locktime;
+    private final long locktime;
 
     private boolean segwit;
 
-    private String hashPrevOuts;
-
-    private String hashSequence;
-
-    private String hashOutputs;
+    private volatile long modificationStamp;
 
-    private String shaPrevOuts;
+    private volatile TransactionIds ids;
 
-    private String shaSequence;
+    private volatile LegacySigHasher legacySigHasher;
 
-    private String shaOutputs;
+    private volatile SegwitSigHasher segwitSigHasher;
 
-    private String shaScriptPubkeys;
-
-    private String shaAmounts;
+    private volatile TaprootSigHasher taprootSigHasher;
 
     public Transaction(BigInteger version, ArrayList<TransactionInput> inputs, ArrayList<TransactionOutput> outputs, BigInteger locktime, boolean segwit) {
+        this(LittleEndian.toUnsignedInt(version, "Version"), inputs, outputs, LittleEndian.toUnsignedInt(locktime, "Locktime"), segwit);
+    }
+
+    public Transaction(long version, ArrayList<TransactionInput> inputs, ArrayList<TransactionOutput> outputs, long locktime, boolean segwit) {
         this.version = version;
         this.inputs = inputs;
         this.outputs = outputs;
@@ -51,7 +48,77 @@ public class Transaction {
     }
 
     public String id() throws IOException {
-        return LittleEndian.fromUnsignedLittleEndianToHex(new BigInteger(1, Hash256.hash(Hex.decode(serializeLegacy()))), 32);
+        return Bytes.reverseToHex(txidHash());
+    }
+
+    public TxId txId() {
+        return TxId.fromHash(currentTxidHash());
+    }
+
+    public String wtxid() {
+        return Bytes.reverseToHex(wtxidHash());
+    }
+
+    public byte[] txidHash() {
+        return currentTxidHash().clone();
+    }
+
+    private byte[] currentTxidHash() {
+        TransactionIds currentIds = currentIds();
+        byte[] txid = currentIds.txid;
+        if (txid == null) {
+            try (HashingSink sink = HashingSink.get()) {
+                writeLegacyTo(sink.scratch(getStrippedSize()));
+                txid = sink.writeScratch().hash256();
+            }
+            currentIds.txid = txid;
+        }
+        return txid;
+    }
+
+    public byte[] wtxidHash() {
+        TransactionIds currentIds = currentIds();
+        byte[] wtxid = currentIds.wtxid;
+        if (wtxid == null) {
+            try (HashingSink sink = HashingSink.get()) {
+                writeTo(sink.scratch(getSize()));
+                wtxid = sink.writeScratch().hash256();
+            }
+            currentIds.wtxid = wtxid;
+        }
+        return wtxid.clone();
+    }
+
+    private TransactionIds currentIds() {
+        TransactionIds currentIds = ids;
+        if (currentIds == null || isModifiedSince(currentIds)) {
+            currentIds = new TransactionIds(ModificationStamp.current(), inputs.toArray(new TransactionInput[0]), outputs.toArray(new TransactionOutput[0]));
+            ids = currentIds;
+        }
+        return currentIds;
+    }
+
+    private boolean isModifiedSince(TransactionIds currentIds) {
+        if (modificationStamp > currentIds.stamp || inputs.size() != currentIds.inputs.length || outputs.size() != currentIds.outputs.length) {
+            return true;
+        }
+        for (int i = 0; i < currentIds.inputs.length; i++) {
+            TransactionInput input = inputs.get(i);
+            if (input != currentIds.inputs[i] || input.getModificationStamp() > currentIds.stamp) {
+                return true;
+            }
+        }
+        for (int i = 0; i < currentIds.outputs.length; i++) {
+            TransactionOutput output = outputs.get(i);
+            if (output != currentIds.outputs[i] || output.getModificationStamp() > currentIds.stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Transaction fromBytes(byte[] bytes) {
+        return RawTransaction.parse(bytes).toTransaction();
     }
 
     public static Transaction fromByteStream(ByteArrayInputStream stream) throws IOException {
@@ -62,22 +129,22 @@ public class Transaction {
     }
 
     private static Transaction parseSegwit(ByteArrayInputStream stream) throws IOException {
-        BigInteger version = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        long version = LittleEndian.readInt(stream);
         verifySegwit(stream);
         BigInteger numInputs = VarInt.fromByteStream(stream);
         ArrayList<TransactionInput> inputs = new ArrayList<>();
-        for (BigInteger i = BigInteger.ZERO; i.compareTo(numInputs) < 0; i = i.add(BigInteger.ONE)) {
+        for (long i = 0; i < numInputs.longValueExact(); i++) {
             inputs.add(TransactionInput.fromByteStream(stream));
         }
         BigInteger numOutputs = VarInt.fromByteStream(stream);
         ArrayList<TransactionOutput> outputs = new ArrayList<>();
-        for (BigInteger i = BigInteger.ZERO; i.compareTo(numOutputs) < 0; i = i.add(BigInteger.ONE)) {
+        for (long i = 0; i < numOutputs.longValueExact(); i++) {
             outputs.add(TransactionOutput.fromByteStream(stream));
         }
         for (TransactionInput input : inputs) {
             input.setWitnessFromByteStream(stream);
         }
-        BigInteger locktime = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        long locktime = LittleEndian.readInt(stream);
         return new Transaction(version, inputs, outputs, locktime, true);
     }
 
@@ -89,218 +156,172 @@ public class Transaction {
     }
 
     private static Transaction parseLegacy(ByteArrayInputStream stream) throws IOException {
-        BigInteger version = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        long version = LittleEndian.readInt(stream);
         BigInteger numInputs = VarInt.fromByteStream(stream);
         ArrayList<TransactionInput> inputs = new ArrayList<>();
-        for (BigInteger i = BigInteger.ZERO; i.compareTo(numInputs) < 0; i = i.add(BigInteger.ONE)) {
+        for (long i = 0; i < numInputs.longValueExact(); i++) {
             inputs.add(TransactionInput.fromByteStream(stream));
         }
         BigInteger numOutputs = VarInt.fromByteStream(stream);
         ArrayList<TransactionOutput> outputs = new ArrayList<>();
-        for (BigInteger i = BigInteger.ZERO; i.compareTo(numOutputs) < 0; i = i.add(BigInteger.ONE)) {
+        for (long i = 0; i < numOutputs.longValueExact(); i++) {
             outputs.add(TransactionOutput.fromByteStream(stream));
         }
-        BigInteger locktime = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        long locktime = LittleEndian.readInt(stream);
         return new Transaction(version, inputs, outputs, locktime, false);
     }
 
     public String serialize() throws IOException {
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(getSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    public byte[] toLegacyBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(getStrippedSize());
+        writeLegacyTo(buffer);
+        return buffer.array();
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        LittleEndian.writeInt(outputStream, version);
+        if (segwit) {
+            outputStream.write(0);
+            outputStream.write(1);
+        }
+        VarInt.write(outputStream, inputs.size());
+        for (TransactionInput input : inputs) {
+            input.writeTo(outputStream);
+        }
+        VarInt.write(outputStream, outputs.size());
+        for (TransactionOutput output : outputs) {
+            output.writeTo(outputStream);
+        }
+        if (segwit) {
+            for (TransactionInput input : inputs) {
+                input.getWitness().writeTo(outputStream);
+            }
+        }
+        LittleEndian.writeInt(outputStream, locktime);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
         if (segwit) {
-            return serializeSegwit();
+            writeSegwitTo(buffer);
+            return;
         }
-        return serializeLegacy();
+        writeLegacyTo(buffer);
+    }
+
+    private void writeSegwitTo(ByteBuffer buffer) {
+        LittleEndian.writeInt(buffer, version);
+        buffer.put((byte) 0);
+        buffer.put((byte) 1);
+        writeInputsAndOutputsTo(buffer);
+        for (TransactionInput input : inputs) {
+            input.getWitness().writeTo(buffer);
+        }
+        LittleEndian.writeInt(buffer, locktime);
+    }
+
+    public void writeLegacyTo(ByteBuffer buffer) {
+        LittleEndian.writeInt(buffer, version);
+        writeInputsAndOutputsTo(buffer);
+        LittleEndian.writeInt(buffer, locktime);
     }
 
-    private String serializeSegwit() throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(version, 4));
-        stringBuilder.append(SEGWIT_MARKER.concat(SEGWIT_FLAG));
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(inputs.size())));
+    private void writeInputsAndOutputsTo(ByteBuffer buffer) {
+        VarInt.write(buffer, inputs.size());
         for (TransactionInput input : inputs) {
-            stringBuilder.append(input.serialize());
+            input.writeTo(buffer);
         }
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(outputs.size())));
+        VarInt.write(buffer, outputs.size());
         for (TransactionOutput output : outputs) {
-            stringBuilder.append(output.serialize());
+            output.writeTo(buffer);
         }
-        for (TransactionInput input : inputs) {
-            stringBuilder.append(input.getWitness().serialize());
+    }
+
+    public int getSize() {
+        if (segwit) {
+            return getStrippedSize() + getWitnessLength();
         }
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(locktime, 4));
-        return stringBuilder.toString();
+        return getStrippedSize();
     }
 
-    private String serializeLegacy() throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(version, 4));
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(inputs.size())));
+    public int getStrippedSize() {
+        int size = 8 + VarInt.size(inputs.size()) + VarInt.size(outputs.size());
         for (TransactionInput input : inputs) {
-            stringBuilder.append(input.serialize());
+            size += input.serializedSize();
         }
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(outputs.size())));
         for (TransactionOutput output : outputs) {
-            stringBuilder.append(output.serialize());
+            size += output.serializedSize();
         }
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(locktime, 4));
-        return stringBuilder.toString();
+        return size;
     }
 
     public String sigHash(int inputIndex, Script scriptPubkey) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(version, 4));
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(inputs.size())));
-        IntStream.range(0, inputs.size()).forEach(i -> {
-            if (i == inputIndex) {
-                try {
-                    stringBuilder.append(
-                        new TransactionInput(
-                            inputs.get(i).getPreviousTransactionId(),
-                            inputs.get(i).getPreviousIndex(),
-                            scriptPubkey,
-                            inputs.get(i).getSequence()
-                        ).serialize()
-                    );
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-                return;
-            }
-            try {
-                stringBuilder.append(
-                    new TransactionInput(
-                        inputs.get(i).getPreviousTransactionId(),
-                        inputs.get(i).getPreviousIndex(),
-                        new Script(new ArrayList<>()),
-                        inputs.get(i).getSequence()
-                    ).serialize()
-                );
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        stringBuilder.append(VarInt.toHex(BigInteger.valueOf(outputs.size())));
-        outputs.forEach(output -> {
-            try {
-                stringBuilder.append(output.serialize());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(locktime, 4));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(SigHashTypes.SIGHASH_ALL, 4));
-        String zRaw = stringBuilder.toString();
-        return Hash256.hashToHex(zRaw);
+        return sigHash(inputIndex, scriptPubkey, SigHashTypes.SIGHASH_ALL);
     }
 
-    public String sigHashSegwit(int inputIndex, String serializedScriptPubkey, BigInteger amount) throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        TransactionInput transactionInput = inputs.get(inputIndex);
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(version, 4));
-        hashPrevOutsAndSequences();
-        stringBuilder.append(hashPrevOuts);
-        stringBuilder.append(hashSequence);
-        stringBuilder.append(Bytes.reverseFromHex(transactionInput.getPreviousTransactionId()));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(transactionInput.getPreviousIndex(), 4));
-        stringBuilder.append(serializedScriptPubkey);
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(amount, 8));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(transactionInput.getSequence(), 4));
-        hashOutputs();
-        stringBuilder.append(hashOutputs);
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(locktime, 4));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(SigHashTypes.SIGHASH_ALL, 4));
-        String zRaw = stringBuilder.toString();
-        return Hash256.hashToHex(zRaw);
+    public String sigHash(int inputIndex, Script scriptPubkey, BigInteger sigHashType) {
+        return Hex.toHexString(legacySigHasher().sigHash(inputIndex, scriptPubkey, sigHashType.intValue()));
     }
 
-    public String sigHashTaproot(int inputIndex, List<String> serializedScriptPubkeys, List<BigInteger> amounts) throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("00");
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(version, 4));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(locktime, 4));
-        shaPrevOutsAndSequences();
-        stringBuilder.append(shaPrevOuts);
-        shaAmounts(amounts);
-        stringBuilder.append(shaAmounts);
-        shaScriptPubkeys(serializedScriptPubkeys);
-        stringBuilder.append(shaScriptPubkeys);
-        stringBuilder.append(shaSequence);
-        shaOutputs();
-        stringBuilder.append(shaOutputs);
-        stringBuilder.append("00");
-        TransactionInput transactionInput = inputs.get(inputIndex);
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(transactionInput.getPreviousIndex(), 4));
-        return stringBuilder.toString();
-    }
-
-    private void hashOutputs() throws IOException {
-        if(isNull(hashOutputs)) {
-            StringBuilder allOutputs = new StringBuilder();
-            for (TransactionOutput output : outputs) {
-                allOutputs.append(output.serialize());
-            }
-            hashOutputs = Hash256.hashToHex(allOutputs.toString());
+    public LegacySigHasher legacySigHasher() {
+        LegacySigHasher currentSigHasher = legacySigHasher;
+        if (currentSigHasher == null || currentSigHasher.isStale()) {
+            currentSigHasher = new LegacySigHasher(this);
+            legacySigHasher = currentSigHasher;
         }
+        return currentSigHasher;
     }
 
-    private void hashPrevOutsAndSequences() {
-        if(isNull(hashPrevOuts)) {
-            StringBuilder allPrevOuts = new StringBuilder();
-            StringBuilder allSequences = new StringBuilder();
-            inputs.forEach(input -> {
-                allPrevOuts.append(Bytes.reverseFromHex(input.getPreviousTransactionId()));
-                allPrevOuts.append(LittleEndian.fromUnsignedLittleEndianToHex(input.getPreviousIndex(), 4));
-                allSequences.append(LittleEndian.fromUnsignedLittleEndianToHex(input.getSequence(), 4));
-            });
-            hashPrevOuts = Hash256.hashToHex(allPrevOuts.toString());
-            hashSequence = Hash256.hashToHex(allSequences.toString());
-        }
+    public String sigHashSegwit(int inputIndex, String serializedScriptPubkey, BigInteger amount) throws IOException {
+        return sigHashSegwit(inputIndex, serializedScriptPubkey, amount, SigHashTypes.SIGHASH_ALL);
     }
 
-    private void shaPrevOutsAndSequences() {
-        if(isNull(shaPrevOuts)) {
-            StringBuilder allPrevOuts = new StringBuilder();
-            StringBuilder allSequences = new StringBuilder();
-            inputs.forEach(input -> {
-                allPrevOuts.append(Bytes.reverseFromHex(input.getPreviousTransactionId()));
-                allPrevOuts.append(LittleEndian.fromUnsignedLittleEndianToHex(input.getPreviousIndex(), 4));
-                allSequences.append(LittleEndian.fromUnsignedLittleEndianToHex(input.getSequence(), 4));
-            });
-            shaPrevOuts = Sha256.hashToHex(allPrevOuts.toString());
-            shaSequence = Sha256.hashToHex(allSequences.toString());
-        }
+    public String sigHashSegwit(int inputIndex, String serializedScriptPubkey, BigInteger amount, BigInteger sigHashType) {
+        ByteBuffer serializedScriptCode = ByteBuffer.wrap(Hex.decodeStrict(serializedScriptPubkey));
+        int scriptCodeOffset = VarInt.encodedSize(serializedScriptCode, 0);
+        byte[] scriptCode = Bytes.copy(serializedScriptCode, scriptCodeOffset, serializedScriptCode.limit() - scriptCodeOffset);
+        return Hex.toHexString(segwitSigHasher().sigHash(inputIndex, scriptCode, amount.longValue(), sigHashType.intValue()));
     }
 
-    private void shaOutputs() throws IOException {
-        if(isNull(shaOutputs)) {
-            StringBuilder allOutputs = new StringBuilder();
-            for (TransactionOutput output : outputs) {
-                allOutputs.append(output.serialize());
-            }
-            shaOutputs = Sha256.hashToHex(allOutputs.toString());
+    public SegwitSigHasher segwitSigHasher() {
+        SegwitSigHasher currentSigHasher = segwitSigHasher;
+        if (currentSigHasher == null || currentSigHasher.isStale()) {
+            currentSigHasher = new SegwitSigHasher(this);
+            segwitSigHasher = currentSigHasher;
         }
+        return currentSigHasher;
     }
 
-    private void shaScriptPubkeys(List<String> serializedScriptPubkeys) {
-        if(isNull(shaScriptPubkeys)) {
-            StringBuilder allScriptPubkeys = new StringBuilder();
-            for (String scripts : serializedScriptPubkeys) {
-                allScriptPubkeys.append(scripts);
-            }
-            shaScriptPubkeys = Sha256.hashToHex(allScriptPubkeys.toString());
+    public String sigHashTaproot(int inputIndex, List<String> serializedScriptPubkeys, List<BigInteger> amounts) throws IOException {
+        List<TransactionOutput> spentOutputs = new ArrayList<>(amounts.size());
+        for (int i = 0; i < amounts.size(); i++) {
+            spentOutputs.add(new TransactionOutput(amounts.get(i), Script.fromByteStream(new ByteArrayInputStream(Hex.decodeStrict(serializedScriptPubkeys.get(i))))));
         }
+        return Hex.toHexString(taprootSigHasher(spentOutputs).sigMsg(inputIndex, SigHashTypes.SIGHASH_DEFAULT.intValue(), null, null, TaprootSigHasher.NO_CODE_SEPARATOR));
     }
 
-    private void shaAmounts(List<BigInteger> amounts) {
-        if(isNull(shaAmounts)) {
-            StringBuilder allAmounts = new StringBuilder();
-            for (BigInteger amount : amounts) {
-                allAmounts.append(LittleEndian.fromUnsignedLittleEndianToHex(amount, 8));
-            }
-            shaAmounts = Sha256.hashToHex(allAmounts.toString());
+    public TaprootSigHasher taprootSigHasher(List<TransactionOutput> spentOutputs) {
+        TaprootSigHasher currentSigHasher = taprootSigHasher;
+        if (currentSigHasher == null || currentSigHasher.isStale() || !currentSigHasher.spends(spentOutputs)) {
+            currentSigHasher = new TaprootSigHasher(this, spentOutputs);
+            taprootSigHasher = currentSigHasher;
         }
+        return currentSigHasher;
     }
 
     public BigInteger getVersion() {
+        return BigInteger.valueOf(version);
+    }
+
+    public long getVersionAsLong() {
         return version;
     }
 
@@ -313,6 +334,10 @@ public class Transaction {
     }
 
     public BigInteger getLocktime() {
+        return BigInteger.valueOf(locktime);
+    }
+
+    public long getLocktimeAsLong() {
         return locktime;
     }
 
@@ -322,6 +347,7 @@ public class Transaction {
 
     public void setSegwit(boolean segwit) {
         this.segwit = segwit;
+        modificationStamp = ModificationStamp.next();
     }
 
     public static boolean isSegwit(ByteArrayInputStream stream) throws IOException {
@@ -336,15 +362,33 @@ public class Transaction {
         if (segwit) {
             witnessLength = getWitnessLength();
         }
-        int nonWitnessLength = (serialize().length() / 2) - witnessLength;
-        int weight = nonWitnessLength * 4 + witnessLength;
+        int weight = getStrippedSize() * 4 + witnessLength;
         return (weight + 3) / 4;
     }
 
     private int getWitnessLength() {
-        return 2 + inputs.stream()
-            .map(transactionInput -> transactionInput.getWitness().serialize().length() / 2)
-            .reduce(Integer::sum)
-            .orElse(0);
+        int witnessLength = 2;
+        for (TransactionInput input : inputs) {
+            witnessLength += input.getWitness().serializedSize();
+        }
+        return witnessLength;
+    }
+
+    private static class TransactionIds {
+        private final long stamp;
+
+        private final TransactionInput[] inputs;
+
+        private final TransactionOutput[] outputs;
+
+        private volatile byte[] txid;
+
+        private volatile byte[] wtxid;
+
+        private TransactionIds(long stamp, TransactionInput[] inputs, TransactionOutput[] outputs) {
+            this.stamp = stamp;
+            this.inputs = inputs;
+            this.outputs = outputs;
+        }
     }
 }
@@ -1,8 +1,12 @@
 package io.github.bitcoineducation.bitcoinjava;
 
+import org.bouncycastle.util.encoders.Hex;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 import static io.github.bitcoineducation.bitcoinjava.OpCodes.OP_0;
@@ -10,17 +14,29 @@ import static java.math.BigInteger.valueOf;
 import static java.util.Objects.isNull;
 
 public class TransactionInput {
-    private final String previousTransactionId;
+    private final TxId previousTransactionId;
 
-    private final BigInteger previousIndex;
+    private final long previousIndex;
 
     private Script scriptSig;
 
-    private final BigInteger sequence;
+    private final long sequence;
 
     private Witness witness = new Witness(new ArrayList<>());
 
+    private volatile long modificationStamp;
+
+    private volatile OutPoint outPoint;
+
     public TransactionInput(String previousTransactionId, BigInteger previousIndex, Script scriptSig, BigInteger sequence) {
+        this(previousTransactionId, LittleEndian.toUnsignedInt(previousIndex, "Previous index"), scriptSig, LittleEndian.toUnsignedInt(sequence, "Sequence"));
+    }
+
+    public TransactionInput(String previousTransactionId, long previousIndex, Script scriptSig, long sequence) {
+        this(TxId.fromHex(previousTransactionId), previousIndex, scriptSig, sequence);
+    }
+
+    public TransactionInput(TxId previousTransactionId, long previousIndex, Script scriptSig, long sequence) {
         this.previousTransactionId = previousTransactionId;
         this.previousIndex = previousIndex;
         this.scriptSig = scriptSig;
@@ -28,31 +44,72 @@ public class TransactionInput {
     }
 
     public static TransactionInput fromByteStream(ByteArrayInputStream stream) throws IOException {
-        String previousTransactionId = Bytes.reverseToHex(stream.readNBytes(32));
-        BigInteger previousIndex = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        TxId previousTransactionId = TxId.fromHash(stream.readNBytes(TxId.SIZE));
+        long previousIndex = LittleEndian.readInt(stream);
         Script scriptSig = Script.fromByteStream(stream);
-        BigInteger sequence = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(4));
+        long sequence = LittleEndian.readInt(stream);
         return new TransactionInput(previousTransactionId, previousIndex, scriptSig, sequence);
     }
 
     public void setWitnessFromByteStream(ByteArrayInputStream stream) throws IOException {
         witness = Witness.fromByteStream(stream);
+        modificationStamp = ModificationStamp.next();
     }
 
     public String serialize() throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(Bytes.reverseFromHex(previousTransactionId));
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(previousIndex, 4));
-        stringBuilder.append(scriptSig.serialize());
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(sequence, 4));
-        return stringBuilder.toString();
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    public int serializedSize() {
+        return 40 + scriptSig.serializedSize();
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        writeOutpointTo(buffer);
+        scriptSig.writeTo(buffer);
+        LittleEndian.writeInt(buffer, sequence);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        previousTransactionId.writeTo(outputStream);
+        LittleEndian.writeInt(outputStream, previousIndex);
+        scriptSig.writeTo(outputStream);
+        LittleEndian.writeInt(outputStream, sequence);
+    }
+
+    public void writeOutpointTo(ByteBuffer buffer) {
+        previousTransactionId.writeTo(buffer);
+        LittleEndian.writeInt(buffer, previousIndex);
     }
 
     public String getPreviousTransactionId() {
+        return previousTransactionId.toHex();
+    }
+
+    public TxId getPreviousTxId() {
         return previousTransactionId;
     }
 
+    public OutPoint getOutPoint() {
+        OutPoint currentOutPoint = outPoint;
+        if (currentOutPoint == null) {
+            currentOutPoint = new OutPoint(previousTransactionId, previousIndex);
+            outPoint = currentOutPoint;
+        }
+        return currentOutPoint;
+    }
+
     public BigInteger getPreviousIndex() {
+        return BigInteger.valueOf(previousIndex);
+    }
+
+    public long getPreviousIndexAsLong() {
         return previousIndex;
     }
 
@@ -61,11 +118,16 @@ public class TransactionInput {
     }
 
     public BigInteger getSequence() {
+        return BigInteger.valueOf(sequence);
+    }
+
+    public long getSequenceAsLong() {
         return sequence;
     }
 
     public void setScriptSig(Script scriptSig) {
         this.scriptSig = scriptSig;
+        modificationStamp = ModificationStamp.next();
     }
 
     public void appendToP2SHScriptSig(Object command) {
@@ -74,6 +136,7 @@ public class TransactionInput {
             scriptSig.appendCommand(valueOf(OP_0));
         }
         scriptSig.appendCommand(command);
+        modificationStamp = ModificationStamp.next();
     }
 
     public Witness getWitness() {
@@ -82,6 +145,7 @@ public class TransactionInput {
 
     public void setWitness(Witness witness) {
         this.witness = witness;
+        modificationStamp = ModificationStamp.next();
     }
 
     public void appendToWitness(Object command) {
@@ -90,4 +154,8 @@ public class TransactionInput {
         }
         witness.appendItem(command);
     }
+
+    long getModificationStamp() {
+        return Math.max(modificationStamp, Math.max(scriptSig.getModificationStamp(), witness.getModificationStamp()));
+    }
 }
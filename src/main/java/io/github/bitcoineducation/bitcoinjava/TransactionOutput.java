@@ -1,37 +1,70 @@
 package io.github.bitcoineducation.bitcoinjava;
 
+import org.bouncycastle.util.encoders.Hex;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 public class TransactionOutput {
-    private final BigInteger amount;
+    private final long amount;
 
     private final Script scriptPubkey;
 
     public TransactionOutput(BigInteger amount, Script scriptPubkey) {
+        this(amount.longValueExact(), scriptPubkey);
+    }
+
+    public TransactionOutput(long amount, Script scriptPubkey) {
         this.amount = amount;
         this.scriptPubkey = scriptPubkey;
     }
 
     public static TransactionOutput fromByteStream(ByteArrayInputStream stream) throws IOException {
-        BigInteger amount = LittleEndian.toUnsignedLittleEndian(stream.readNBytes(8));
+        long amount = LittleEndian.readLong(stream);
         Script scriptPubkey = Script.fromByteStream(stream);
         return new TransactionOutput(amount, scriptPubkey);
     }
 
     public String serialize() throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(LittleEndian.fromUnsignedLittleEndianToHex(amount, 8));
-        stringBuilder.append(scriptPubkey.serialize());
-        return stringBuilder.toString();
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    public int serializedSize() {
+        return 8 + scriptPubkey.serializedSize();
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        LittleEndian.writeLong(buffer, amount);
+        scriptPubkey.writeTo(buffer);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        LittleEndian.writeLong(outputStream, amount);
+        scriptPubkey.writeTo(outputStream);
     }
 
     public BigInteger getAmount() {
+        return BigInteger.valueOf(amount);
+    }
+
+    public long getAmountAsLong() {
         return amount;
     }
 
     public Script getScriptPubkey() {
         return scriptPubkey;
     }
+
+    long getModificationStamp() {
+        return scriptPubkey.getModificationStamp();
+    }
 }
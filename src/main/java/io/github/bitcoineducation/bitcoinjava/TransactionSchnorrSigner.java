@@ -1,20 +1,21 @@
 package io.github.bitcoineducation.bitcoinjava;
 
-import org.bouncycastle.pqc.math.linearalgebra.ByteUtils;
 import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class TransactionSchnorrSigner {
     public static void sign(Transaction transaction, BigInteger secret, int index, List<BigInteger> amounts, List<Script> scripts) throws IOException {
-        String sigHash = getSigHash(transaction, index, amounts, scripts);
-        byte[] message = ByteUtils.concatenate(new byte[]{0}, Hex.decodeStrict(sigHash));
-        byte[] taggedMessage = TaggedHash.hash("TapSighash", message);
+        sign(transaction, secret, index, spentOutputs(amounts, scripts));
+    }
+
+    public static void sign(Transaction transaction, BigInteger secret, int index, List<TransactionOutput> spentOutputs) {
+        byte[] taggedMessage = transaction.taprootSigHasher(spentOutputs).sigHash(index, SigHashTypes.SIGHASH_DEFAULT.intValue());
 
         byte[] auxRand = getAuxRand();
         BigInteger signature = SchnorrSigner.sign(secret, new BigInteger(1, taggedMessage), new BigInteger(1, auxRand));
@@ -30,18 +31,11 @@ public class TransactionSchnorrSigner {
         return auxRand;
     }
 
-    private static String getSigHash(Transaction transaction, int index, List<BigInteger> amounts, List<Script> scripts) throws IOException {
-        List<String> scriptsSerialized = scripts.stream().map(script -> {
-            try {
-                return script.serialize();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
-        return transaction.sigHashTaproot(
-            index,
-            scriptsSerialized,
-            amounts
-        );
+    public static List<TransactionOutput> spentOutputs(List<BigInteger> amounts, List<Script> scripts) {
+        List<TransactionOutput> spentOutputs = new ArrayList<>(amounts.size());
+        for (int i = 0; i < amounts.size(); i++) {
+            spentOutputs.add(new TransactionOutput(amounts.get(i), scripts.get(i)));
+        }
+        return spentOutputs;
     }
 }
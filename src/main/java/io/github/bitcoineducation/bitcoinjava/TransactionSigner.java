@@ -0,0 +1,205 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.BigIntegers;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static io.github.bitcoineducation.bitcoinjava.OpCodes.OP_0;
+import static java.math.BigInteger.valueOf;
+
+public class TransactionSigner {
+    private static final String SIGHASH_ALL_HEX = Hex.toHexString(SigHashTypes.SIGHASH_ALL.toByteArray());
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private final LegacySigHasher legacySigHasher;
+
+    private final SegwitSigHasher segwitSigHasher;
+
+    private final TaprootSigHasher taprootSigHasher;
+
+    private final Map<BigInteger, SchnorrKeyPair> schnorrKeyPairs = new HashMap<>();
+
+    private TransactionSigner(Transaction transaction, List<SigningInput> signingInputs, List<TransactionOutput> spentOutputs) {
+        validate(transaction, signingInputs);
+        this.legacySigHasher = signingInputs.stream().anyMatch(TransactionSigner::isLegacy) ? transaction.legacySigHasher() : null;
+        this.segwitSigHasher = signingInputs.stream().anyMatch(TransactionSigner::isSegwitV0) ? transaction.segwitSigHasher() : null;
+        boolean hasTaprootInputs = signingInputs.stream().anyMatch(signingInput -> signingInput.getType() == SigningInput.Type.P2TR);
+        if (hasTaprootInputs && spentOutputs == null) {
+            throw new IllegalArgumentException("Signing taproot inputs requires the outputs spent by every input.");
+        }
+        this.taprootSigHasher = hasTaprootInputs ? transaction.taprootSigHasher(spentOutputs) : null;
+        for (SigningInput signingInput : signingInputs) {
+            if (signingInput.getType() == SigningInput.Type.P2TR) {
+                schnorrKeyPairs.computeIfAbsent(signingInput.getPrivateKeys().get(0).getSecret(), SchnorrKeyPair::new);
+            }
+        }
+    }
+
+    public static void sign(Transaction transaction, List<SigningInput> signingInputs) {
+        sign(transaction, signingInputs, null, ForkJoinPool.commonPool());
+    }
+
+    public static void sign(Transaction transaction, List<SigningInput> signingInputs, Executor executor) {
+        sign(transaction, signingInputs, null, executor);
+    }
+
+    public static void sign(Transaction transaction, List<SigningInput> signingInputs, List<TransactionOutput> spentOutputs, Executor executor) {
+        TransactionSigner signer = new TransactionSigner(transaction, signingInputs, spentOutputs);
+        List<CompletableFuture<SignedInput>> futures = new ArrayList<>(signingInputs.size());
+        for (SigningInput signingInput : signingInputs) {
+            futures.add(CompletableFuture.supplyAsync(() -> signer.sign(signingInput), executor));
+        }
+        List<SignedInput> signedInputs = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<SignedInput> future : futures) {
+                signedInputs.add(future.join());
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<SignedInput> future : futures) {
+                future.cancel(false);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        for (SignedInput signedInput : signedInputs) {
+            TransactionInput input = transaction.getInputs().get(signedInput.index);
+            if (signedInput.scriptSig != null) {
+                input.setScriptSig(signedInput.scriptSig);
+            }
+            if (signedInput.witness != null) {
+                input.setWitness(signedInput.witness);
+                transaction.setSegwit(true);
+            }
+        }
+    }
+
+    private static void validate(Transaction transaction, List<SigningInput> signingInputs) {
+        int inputCount = transaction.getInputs().size();
+        Set<Integer> indexes = new HashSet<>();
+        for (SigningInput signingInput : signingInputs) {
+            int index = signingInput.getIndex();
+            if (index < 0 || index >= inputCount) {
+                throw new IllegalArgumentException("Signing input index out of range: ".concat(String.valueOf(index)));
+            }
+            if (!indexes.add(index)) {
+                throw new IllegalArgumentException("Duplicate signing input index: ".concat(String.valueOf(index)));
+            }
+            if (isSegwitV0(signingInput) && signingInput.getAmount() == null) {
+                throw new IllegalArgumentException("Segwit signing input requires the spent amount: ".concat(String.valueOf(index)));
+            }
+        }
+    }
+
+    private SignedInput sign(SigningInput signingInput) {
+        int index = signingInput.getIndex();
+        PrivateKey firstKey = signingInput.getPrivateKeys().get(0);
+        switch (signingInput.getType()) {
+            case P2PKH: {
+                byte[] sigHash = legacySigHasher.sigHash(index, Script.p2pkhScript(hash160Pubkey(firstKey)), SigHashTypes.SIGHASH_ALL.intValue());
+                return new SignedInput(index, new Script(items(ecdsaSignature(firstKey, sigHash), firstKey.getPublicKey().compressedPublicKeyHex())), null);
+            }
+            case P2WPKH: {
+                byte[] sigHash = segwitSigHash(index, Script.p2pkhScript(hash160Pubkey(firstKey)), signingInput.getAmount());
+                return new SignedInput(index, null, new Witness(items(ecdsaSignature(firstKey, sigHash), firstKey.getPublicKey().compressedPublicKeyHex())));
+            }
+            case P2SH_P2WPKH: {
+                byte[] sigHash = segwitSigHash(index, Script.p2pkhScript(hash160Pubkey(firstKey)), signingInput.getAmount());
+                return new SignedInput(
+                    index,
+                    new Script(items(signingInput.getRedeemScript().rawSerialize())),
+                    new Witness(items(ecdsaSignature(firstKey, sigHash), firstKey.getPublicKey().compressedPublicKeyHex()))
+                );
+            }
+            case P2SH: {
+                byte[] sigHash = legacySigHasher.sigHash(index, signingInput.getRedeemScript(), SigHashTypes.SIGHASH_ALL.intValue());
+                return new SignedInput(index, new Script(multisigItems(signingInput, sigHash)), null);
+            }
+            case P2WSH: {
+                byte[] sigHash = segwitSigHash(index, signingInput.getRedeemScript(), signingInput.getAmount());
+                return new SignedInput(index, null, new Witness(multisigItems(signingInput, sigHash)));
+            }
+            case P2TR: {
+                byte[] sigHash = taprootSigHasher.sigHash(index, SigHashTypes.SIGHASH_DEFAULT.intValue());
+                BigInteger signature = schnorrKeyPairs.get(firstKey.getSecret()).sign(new BigInteger(1, sigHash), new BigInteger(1, auxRand()), false);
+                return new SignedInput(index, null, new Witness(items(Hex.toHexString(BigIntegers.asUnsignedByteArray(64, signature)))));
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported input type: ".concat(signingInput.getType().name()));
+        }
+    }
+
+    private byte[] segwitSigHash(int index, Script scriptCode, BigInteger amount) {
+        return segwitSigHasher.sigHash(index, scriptCode, amount.longValueExact(), SigHashTypes.SIGHASH_ALL.intValue());
+    }
+
+    private static List<Object> multisigItems(SigningInput signingInput, byte[] sigHash) {
+        List<Object> items = new ArrayList<>();
+        items.add(valueOf(OP_0));
+        for (PrivateKey privateKey : signingInput.getPrivateKeys()) {
+            items.add(ecdsaSignature(privateKey, sigHash));
+        }
+        items.add(signingInput.getRedeemScript().rawSerialize());
+        return items;
+    }
+
+    private static String ecdsaSignature(PrivateKey privateKey, byte[] sigHash) {
+        try {
+            return ECSigner.sign(privateKey, sigHash).derHex().concat(SIGHASH_ALL_HEX);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Object> items(Object... items) {
+        return new ArrayList<>(List.of(items));
+    }
+
+    private static String hash160Pubkey(PrivateKey privateKey) {
+        return Hash160.hashToHex(privateKey.getPublicKey().getCompressedPublicKey());
+    }
+
+    private static byte[] auxRand() {
+        byte[] auxRand = new byte[32];
+        random.nextBytes(auxRand);
+        return auxRand;
+    }
+
+    private static boolean isLegacy(SigningInput signingInput) {
+        return signingInput.getType() == SigningInput.Type.P2PKH || signingInput.getType() == SigningInput.Type.P2SH;
+    }
+
+    private static boolean isSegwitV0(SigningInput signingInput) {
+        SigningInput.Type type = signingInput.getType();
+        return type == SigningInput.Type.P2WPKH || type == SigningInput.Type.P2SH_P2WPKH || type == SigningInput.Type.P2WSH;
+    }
+
+    private static class SignedInput {
+        private final int index;
+
+        private final Script scriptSig;
+
+        private final Witness witness;
+
+        private SignedInput(int index, Script scriptSig, Witness witness) {
+            this.index = index;
+            this.scriptSig = scriptSig;
+            this.witness = witness;
+        }
+    }
+}
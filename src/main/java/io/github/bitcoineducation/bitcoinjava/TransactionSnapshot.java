@@ -0,0 +1,40 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import java.util.List;
+
+class TransactionSnapshot {
+    final Transaction transaction;
+
+    final long stamp;
+
+    final TransactionInput[] inputs;
+
+    final TransactionOutput[] outputs;
+
+    TransactionSnapshot(Transaction transaction) {
+        this.transaction = transaction;
+        this.stamp = ModificationStamp.current();
+        this.inputs = transaction.getInputs().toArray(new TransactionInput[0]);
+        this.outputs = transaction.getOutputs().toArray(new TransactionOutput[0]);
+    }
+
+    boolean isStale() {
+        List<TransactionInput> currentInputs = transaction.getInputs();
+        List<TransactionOutput> currentOutputs = transaction.getOutputs();
+        if (currentInputs.size() != inputs.length || currentOutputs.size() != outputs.length) {
+            return true;
+        }
+        for (int i = 0; i < inputs.length; i++) {
+            if (currentInputs.get(i) != inputs[i]) {
+                return true;
+            }
+        }
+        for (int i = 0; i < outputs.length; i++) {
+            TransactionOutput output = currentOutputs.get(i);
+            if (output != outputs[i] || output.getModificationStamp() > stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
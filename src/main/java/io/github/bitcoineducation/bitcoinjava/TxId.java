@@ -0,0 +1,74 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public final class TxId {
+    public static final int SIZE = 32;
+
+    private final byte[] hash;
+
+    private final int hashCode;
+
+    private TxId(byte[] hash) {
+        if (hash.length != SIZE) {
+            throw new IllegalArgumentException("Transaction id must have 32 bytes.");
+        }
+        this.hash = hash;
+        this.hashCode = Arrays.hashCode(hash);
+    }
+
+    public static TxId fromHex(String id) {
+        return new TxId(Bytes.reverse(Hex.decodeStrict(id)));
+    }
+
+    public static TxId fromHash(byte[] hash) {
+        return new TxId(hash.clone());
+    }
+
+    public static TxId fromBuffer(ByteBuffer buffer, int offset) {
+        return new TxId(Bytes.copy(buffer, offset, SIZE));
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(hash);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(hash);
+    }
+
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    public String toHex() {
+        return Bytes.reverseToHex(hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TxId)) {
+            return false;
+        }
+        TxId other = (TxId) o;
+        return hashCode == other.hashCode && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -6,7 +6,9 @@ import org.bouncycastle.util.encoders.Hex;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 import static java.math.BigInteger.valueOf;
 
@@ -39,4 +41,77 @@ public class VarInt {
     public static String toHex(BigInteger bigInteger) {
         return Hex.toHexString(toByteStream(bigInteger).readAllBytes());
     }
+
+    public static int size(long value) {
+        if (value >= 0 && value < 0xfd) {
+            return 1;
+        } else if (value >= 0 && value <= 0xffff) {
+            return 3;
+        } else if (value >= 0 && value <= 0xffffffffL) {
+            return 5;
+        }
+        return 9;
+    }
+
+    public static void write(ByteBuffer buffer, long value) {
+        switch (size(value)) {
+            case 1 -> buffer.put((byte) value);
+            case 3 -> {
+                buffer.put((byte) 0xfd);
+                buffer.put((byte) value);
+                buffer.put((byte) (value >>> 8));
+            }
+            case 5 -> {
+                buffer.put((byte) 0xfe);
+                LittleEndian.writeInt(buffer, value);
+            }
+            default -> {
+                buffer.put((byte) 0xff);
+                LittleEndian.writeLong(buffer, value);
+            }
+        }
+    }
+
+    public static void write(OutputStream outputStream, long value) throws IOException {
+        switch (size(value)) {
+            case 1 -> outputStream.write((int) value);
+            case 3 -> {
+                outputStream.write(0xfd);
+                outputStream.write((int) value);
+                outputStream.write((int) (value >>> 8));
+            }
+            case 5 -> {
+                outputStream.write(0xfe);
+                LittleEndian.writeInt(outputStream, value);
+            }
+            default -> {
+                outputStream.write(0xff);
+                LittleEndian.writeLong(outputStream, value);
+            }
+        }
+    }
+
+    public static long read(ByteBuffer buffer, int offset) {
+        int firstByte = buffer.get(offset) & 0xff;
+        if (firstByte == 0xfd) {
+            return (buffer.get(offset + 1) & 0xff) | (buffer.get(offset + 2) & 0xff) << 8;
+        } else if (firstByte == 0xfe) {
+            return LittleEndian.readInt(buffer, offset + 1);
+        } else if (firstByte == 0xff) {
+            return LittleEndian.readLong(buffer, offset + 1);
+        }
+        return firstByte;
+    }
+
+    public static int encodedSize(ByteBuffer buffer, int offset) {
+        int firstByte = buffer.get(offset) & 0xff;
+        if (firstByte == 0xfd) {
+            return 3;
+        } else if (firstByte == 0xfe) {
+            return 5;
+        } else if (firstByte == 0xff) {
+            return 9;
+        }
+        return 1;
+    }
 }
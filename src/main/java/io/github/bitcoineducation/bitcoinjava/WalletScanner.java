@@ -0,0 +1,281 @@
+package io.github.bitcoineducation.bitcoinjava;
+
+import io.github.bitcoineducation.bitcoinjava.AddressGenerator.AddressType;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+public class WalletScanner {
+    public static final int DEFAULT_GAP_LIMIT = 20;
+
+    public static final int RECEIVE_CHAIN = 0;
+
+    public static final int CHANGE_CHAIN = 1;
+
+    private final int gapLimit;
+
+    private final ForkJoinPool pool;
+
+    private final List<Chain[]> accounts = new ArrayList<>();
+
+    private final Map<ByteBuffer, WalletAddress> addresses = new HashMap<>();
+
+    private final Map<OutPoint, WalletOutput> unspentOutputs = new LinkedHashMap<>();
+
+    private final Map<OutPoint, WalletOutput> spentOutputs = new LinkedHashMap<>();
+
+    public WalletScanner(List<ExtendedPubkey> accountPubkeys, AddressType addressType) {
+        this(accountPubkeys, addressType, DEFAULT_GAP_LIMIT, ForkJoinPool.commonPool());
+    }
+
+    public WalletScanner(List<ExtendedPubkey> accountPubkeys, AddressType addressType, int gapLimit) {
+        this(accountPubkeys, addressType, gapLimit, ForkJoinPool.commonPool());
+    }
+
+    public WalletScanner(List<ExtendedPubkey> accountPubkeys, AddressType addressType, int gapLimit, ForkJoinPool pool) {
+        if (gapLimit <= 0) {
+            throw new IllegalArgumentException("Gap limit must be positive: ".concat(String.valueOf(gapLimit)));
+        }
+        this.gapLimit = gapLimit;
+        this.pool = pool;
+        for (int account = 0; account < accountPubkeys.size(); account++) {
+            ExtendedPubkey accountPubkey = accountPubkeys.get(account);
+            Chain[] chains = new Chain[2];
+            for (int chain = RECEIVE_CHAIN; chain <= CHANGE_CHAIN; chain++) {
+                ExtendedPubkey chainPubkey = (ExtendedPubkey) accountPubkey.ckd(BigInteger.valueOf(chain), false, false, accountPubkey.getPrefix());
+                chains[chain] = new Chain(account, chain, new AddressGenerator(chainPubkey, addressType));
+                extend(chains[chain], gapLimit);
+            }
+            accounts.add(chains);
+        }
+    }
+
+    public List<WalletOutput> scan(Iterable<Transaction> transactions) {
+        List<WalletOutput> received = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            received.addAll(scan(transaction));
+        }
+        return received;
+    }
+
+    public List<WalletOutput> scan(Block block) {
+        return scan(block.getTransactions());
+    }
+
+    public List<WalletOutput> scan(Transaction transaction) {
+        for (TransactionInput input : transaction.getInputs()) {
+            markSpent(input.getOutPoint());
+        }
+        List<TransactionOutput> outputs = transaction.getOutputs();
+        ByteBuffer[] scriptPubkeys = new ByteBuffer[outputs.size()];
+        for (int i = 0; i < scriptPubkeys.length; i++) {
+            scriptPubkeys[i] = ByteBuffer.wrap(outputs.get(i).getScriptPubkey().rawToBytes());
+        }
+        return receive(scriptPubkeys, transaction::txId, index -> outputs.get(index).getAmount());
+    }
+
+    public List<WalletOutput> scan(RawTransaction transaction) {
+        for (int i = 0; i < transaction.getInputCount(); i++) {
+            markSpent(transaction.getOutPoint(i));
+        }
+        ByteBuffer[] scriptPubkeys = new ByteBuffer[transaction.getOutputCount()];
+        for (int i = 0; i < scriptPubkeys.length; i++) {
+            scriptPubkeys[i] = ByteBuffer.wrap(transaction.getScriptPubkeyBytes(i));
+        }
+        return receive(scriptPubkeys, transaction::txId, index -> BigInteger.valueOf(transaction.getAmount(index)));
+    }
+
+    private void markSpent(OutPoint outPoint) {
+        WalletOutput spent = unspentOutputs.remove(outPoint);
+        if (spent != null) {
+            spentOutputs.put(outPoint, spent);
+        }
+    }
+
+    private List<WalletOutput> receive(ByteBuffer[] scriptPubkeys, Supplier<TxId> txIdSupplier, IntFunction<BigInteger> amounts) {
+        WalletAddress[] matches = new WalletAddress[scriptPubkeys.length];
+        boolean extended = true;
+        while (extended) {
+            extended = false;
+            for (int i = 0; i < scriptPubkeys.length; i++) {
+                if (matches[i] != null) {
+                    continue;
+                }
+                matches[i] = addresses.get(scriptPubkeys[i]);
+                if (matches[i] != null && markUsed(matches[i])) {
+                    extended = true;
+                }
+            }
+        }
+        List<WalletOutput> received = new ArrayList<>();
+        TxId txId = null;
+        for (int i = 0; i < matches.length; i++) {
+            WalletAddress address = matches[i];
+            if (address == null) {
+                continue;
+            }
+            if (txId == null) {
+                txId = txIdSupplier.get();
+            }
+            OutPoint outPoint = new OutPoint(txId, i);
+            if (spentOutputs.containsKey(outPoint) || unspentOutputs.containsKey(outPoint)) {
+                continue;
+            }
+            WalletOutput walletOutput = new WalletOutput(outPoint, amounts.apply(i), address);
+            unspentOutputs.put(outPoint, walletOutput);
+            received.add(walletOutput);
+        }
+        return received;
+    }
+
+    public List<WalletOutput> getUnspentOutputs() {
+        return new ArrayList<>(unspentOutputs.values());
+    }
+
+    public List<WalletOutput> getSpentOutputs() {
+        return new ArrayList<>(spentOutputs.values());
+    }
+
+    public Set<OutPoint> getSpentOutPoints() {
+        return Collections.unmodifiableSet(spentOutputs.keySet());
+    }
+
+    public boolean isSpent(OutPoint outPoint) {
+        return spentOutputs.containsKey(outPoint);
+    }
+
+    public BigInteger getBalance() {
+        BigInteger balance = BigInteger.ZERO;
+        for (WalletOutput output : unspentOutputs.values()) {
+            balance = balance.add(output.getAmount());
+        }
+        return balance;
+    }
+
+    public WalletAddress findAddress(Script scriptPubkey) {
+        return addresses.get(ByteBuffer.wrap(scriptPubkey.rawToBytes()));
+    }
+
+    public long getNextUnusedIndex(int account, int chain) {
+        return accounts.get(account)[chain].highestUsedIndex + 1;
+    }
+
+    public long getDerivedCount(int account, int chain) {
+        return accounts.get(account)[chain].derivedCount;
+    }
+
+    public int getGapLimit() {
+        return gapLimit;
+    }
+
+    private boolean markUsed(WalletAddress address) {
+        Chain chain = accounts.get(address.getAccount())[address.getChain()];
+        if (address.getIndex() <= chain.highestUsedIndex) {
+            return false;
+        }
+        chain.highestUsedIndex = address.getIndex();
+        return extend(chain, chain.highestUsedIndex + 1 + gapLimit);
+    }
+
+    private boolean extend(Chain chain, long targetCount) {
+        long to = Math.min(targetCount, ExtendedPubkey.HARDENED_INDEX_OFFSET);
+        if (to <= chain.derivedCount) {
+            return false;
+        }
+        List<Script> scripts = chain.addressGenerator.scriptPubkeys(chain.derivedCount, to, pool);
+        for (int i = 0; i < scripts.size(); i++) {
+            Script script = scripts.get(i);
+            WalletAddress address = new WalletAddress(chain.account, chain.chain, chain.derivedCount + i, script);
+            addresses.put(ByteBuffer.wrap(script.rawToBytes()), address);
+        }
+        chain.derivedCount = to;
+        return true;
+    }
+
+    private static class Chain {
+        private final int account;
+
+        private final int chain;
+
+        private final AddressGenerator addressGenerator;
+
+        private long derivedCount;
+
+        private long highestUsedIndex = -1;
+
+        private Chain(int account, int chain, AddressGenerator addressGenerator) {
+            this.account = account;
+            this.chain = chain;
+            this.addressGenerator = addressGenerator;
+        }
+    }
+
+    public static class WalletAddress {
+        private final int account;
+
+        private final int chain;
+
+        private final long index;
+
+        private final Script scriptPubkey;
+
+        private WalletAddress(int account, int chain, long index, Script scriptPubkey) {
+            this.account = account;
+            this.chain = chain;
+            this.index = index;
+            this.scriptPubkey = scriptPubkey;
+        }
+
+        public int getAccount() {
+            return account;
+        }
+
+        public int getChain() {
+            return chain;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public Script getScriptPubkey() {
+            return scriptPubkey;
+        }
+    }
+
+    public static class WalletOutput {
+        private final OutPoint outPoint;
+
+        private final BigInteger amount;
+
+        private final WalletAddress address;
+
+        private WalletOutput(OutPoint outPoint, BigInteger amount, WalletAddress address) {
+            this.outPoint = outPoint;
+            this.amount = amount;
+            this.address = address;
+        }
+
+        public OutPoint getOutPoint() {
+            return outPoint;
+        }
+
+        public BigInteger getAmount() {
+            return amount;
+        }
+
+        public WalletAddress getAddress() {
+            return address;
+        }
+    }
+}
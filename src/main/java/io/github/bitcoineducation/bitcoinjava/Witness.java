@@ -3,22 +3,30 @@ package io.github.bitcoineducation.bitcoinjava;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import static java.math.BigInteger.TWO;
-import static java.math.BigInteger.valueOf;
-
 public class Witness {
     private List<Object> items;
 
+    private volatile long modificationStamp;
+
+    private volatile byte[] serialized;
+
     public Witness(List<Object> items) {
         this.items = items;
     }
 
+    private Witness(List<Object> items, byte[] serialized) {
+        this.items = items;
+        this.serialized = serialized;
+    }
+
     public static Witness fromByteStream(ByteArrayInputStream stream) throws IOException {
         BigInteger numItems;
         numItems = VarInt.fromByteStream(stream);
@@ -34,26 +42,92 @@ public class Witness {
         return new Witness(items);
     }
 
+    public static Witness fromBuffer(ByteBuffer buffer, int offset) {
+        long numItems = VarInt.read(buffer, offset);
+        int position = offset + VarInt.encodedSize(buffer, offset);
+        ArrayList<Object> items = new ArrayList<>();
+        for (long i = 0; i < numItems; i++) {
+            int itemLength = Math.toIntExact(VarInt.read(buffer, position));
+            position += VarInt.encodedSize(buffer, position);
+            if (itemLength == 0) {
+                items.add(BigInteger.ZERO);
+                continue;
+            }
+            items.add(Hex.toHexString(Bytes.copy(buffer, position, itemLength)));
+            position += itemLength;
+        }
+        return new Witness(items, Bytes.copy(buffer, offset, position - offset));
+    }
+
     public String serialize() {
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        byteArrayOutputStream.writeBytes(LittleEndian.fromUnsignedLittleEndian(valueOf(items.size()), 1));
-        items.forEach(item -> {
+        return Hex.toHexString(toBytes());
+    }
+
+    public byte[] toBytes() {
+        return serializedBytes().clone();
+    }
+
+    public int serializedSize() {
+        return serializedBytes().length;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(serializedBytes());
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(serializedBytes());
+    }
+
+    private byte[] serializedBytes() {
+        byte[] currentSerialized = serialized;
+        if (currentSerialized == null) {
+            currentSerialized = encode();
+            serialized = currentSerialized;
+        }
+        return currentSerialized;
+    }
+
+    private int encodedSize() {
+        int size = VarInt.size(items.size());
+        for (Object item : items) {
+            if (item instanceof BigInteger) {
+                size++;
+                continue;
+            }
+            int length = ((String) item).length() / 2;
+            size += VarInt.size(length) + length;
+        }
+        return size;
+    }
+
+    private byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+        VarInt.write(buffer, items.size());
+        for (Object item : items) {
             if (item instanceof BigInteger) {
-                byteArrayOutputStream.writeBytes(LittleEndian.fromUnsignedLittleEndian((BigInteger) item, 1));
-                return;
+                buffer.put(((BigInteger) item).byteValue());
+                continue;
             }
-            byteArrayOutputStream.writeBytes(VarInt.toByteStream(valueOf(((String) item).length()).divide(TWO)).readAllBytes());
-            byteArrayOutputStream.writeBytes(Hex.decodeStrict((String) item));
-        });
-        return Hex.toHexString(byteArrayOutputStream.toByteArray());
+            byte[] data = Hex.decodeStrict((String) item);
+            VarInt.write(buffer, data.length);
+            buffer.put(data);
+        }
+        return buffer.array();
     }
 
     public void appendItem(Object item) {
         items.add(item);
+        serialized = null;
+        modificationStamp = ModificationStamp.next();
     }
 
     public List<Object> getItems() {
-        return items;
+        return Collections.unmodifiableList(items);
+    }
+
+    long getModificationStamp() {
+        return modificationStamp;
     }
 
 }
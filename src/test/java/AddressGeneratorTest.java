@@ -0,0 +1,92 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import io.github.bitcoineducation.bitcoinjava.AddressGenerator.AddressType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.github.bitcoineducation.bitcoinjava.AddressConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AddressGeneratorTest {
+    private static final MnemonicSeed MNEMONIC_SEED = new MnemonicSeed("abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about");
+
+    private static final String PUBLIC_PREFIX = ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix();
+
+    @ParameterizedTest
+    @MethodSource("generateParameters")
+    public void generate(String path, AddressType addressType, String addressPrefix, String expectedAddress) {
+        AddressGenerator addressGenerator = new AddressGenerator(receiveChain(path), addressType, addressPrefix);
+        assertEquals(expectedAddress, addressGenerator.generate(0));
+    }
+
+    private static Stream<Arguments> generateParameters() {
+        return Stream.of(
+            Arguments.of("44'/0'/0'/0", AddressType.P2PKH, MAINNET_P2PKH_ADDRESS_PREFIX, "1LqBGSKuX5yYUonjxT5qGfpUsXKYYWeabA"),
+            Arguments.of("49'/0'/0'/0", AddressType.P2SH_P2WPKH, MAINNET_P2SH_ADDRESS_PREFIX, "37VucYSaXLCAsxYyAPfbSi9eh4iEcbShgf"),
+            Arguments.of("84'/0'/0'/0", AddressType.P2WPKH, MAINNET_P2WPKH_ADDRESS_PREFIX, "bc1qcr8te4kr609gcawutmrza0j4xv80jy8z306fyu"),
+            Arguments.of("86'/0'/0'/0", AddressType.P2TR, MAINNET_P2WPKH_ADDRESS_PREFIX, "bc1p5cyxnuxmeuwuvkwfem96lqzszd02n6xdcjrs20cac6yqjjwudpxqkedrcr")
+        );
+    }
+
+    @Test
+    public void generateRange() {
+        ExtendedPubkey chain = receiveChain("84'/0'/0'/0");
+        AddressGenerator addressGenerator = new AddressGenerator(chain, AddressType.P2WPKH, MAINNET_P2WPKH_ADDRESS_PREFIX);
+        List<String> expected = Stream.iterate(0, i -> i + 1)
+            .limit(40)
+            .map(i -> chain.ckd(BigInteger.valueOf(i), false, false, PUBLIC_PREFIX).toPublicKey().segwitAddressFromCompressedPublicKey(MAINNET_P2WPKH_ADDRESS_PREFIX))
+            .collect(Collectors.toList());
+        assertEquals(expected, addressGenerator.generate(0, 40, new ForkJoinPool(4)));
+        assertEquals(expected.subList(5, 40), addressGenerator.stream(5, 40).collect(Collectors.toList()));
+        assertEquals("bc1qnjg0jd8228aq7egyzacy8cys3knf9xvrerkf9g", expected.get(1));
+        assertTrue(addressGenerator.generate(3, 3).isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateParameters")
+    public void scriptPubkeys(String path, AddressType addressType, String addressPrefix, String expectedAddress) {
+        AddressGenerator addressGenerator = new AddressGenerator(receiveChain(path), addressType, addressPrefix);
+        List<String> addresses = addressGenerator.generate(0, 3);
+        List<Script> scripts = new AddressGenerator(receiveChain(path), addressType).scriptPubkeys(0, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(addresses.get(i), address(scripts.get(i), addressType, addressPrefix));
+        }
+        assertEquals(expectedAddress, address(addressGenerator.scriptPubkey(0), addressType, addressPrefix));
+        assertThrows(IllegalStateException.class, () -> new AddressGenerator(receiveChain(path), addressType).generate(0));
+    }
+
+    private static String address(Script script, AddressType addressType, String addressPrefix) {
+        switch (addressType) {
+            case P2PKH:
+                return script.p2pkhAddress(addressPrefix);
+            case P2SH_P2WPKH:
+                return script.nestedSegwitAddress(addressPrefix);
+            case P2WPKH:
+                return script.p2wpkhAddress(addressPrefix);
+            default:
+                return script.p2trAddress(addressPrefix);
+        }
+    }
+
+    @Test
+    public void invalidRange() {
+        AddressGenerator addressGenerator = new AddressGenerator(receiveChain("84'/0'/0'/0"), AddressType.P2WPKH, MAINNET_P2WPKH_ADDRESS_PREFIX);
+        assertThrows(IllegalArgumentException.class, () -> addressGenerator.generate(-1));
+        assertThrows(IllegalArgumentException.class, () -> addressGenerator.generate(AddressGenerator.MAX_INDEX));
+        assertThrows(IllegalArgumentException.class, () -> addressGenerator.generate(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> addressGenerator.generate(0, AddressGenerator.MAX_INDEX));
+        assertThrows(IllegalArgumentException.class, () -> addressGenerator.scriptPubkeys(0, AddressGenerator.MAX_INDEX));
+    }
+
+    private static ExtendedPubkey receiveChain(String path) {
+        ExtendedPrivateKey masterKey = MNEMONIC_SEED.toMasterKey("", ExtendedKeyPrefixes.MAINNET_PREFIX.getPrivatePrefix());
+        return (ExtendedPubkey) masterKey.ckd(path, false, PUBLIC_PREFIX);
+    }
+}
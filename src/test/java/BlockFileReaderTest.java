@@ -0,0 +1,109 @@
+import io.github.bitcoineducation.bitcoinjava.BlockFileReader;
+import io.github.bitcoineducation.bitcoinjava.RawTransaction;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockFileReaderTest {
+    private static final String GENESIS_BLOCK = "0100000000000000000000000000000000000000000000000000000000000000000000003ba3edfd7a7b12b27ac72c3e67768f617fc81bc3888a51323a9fb8aa4b1e5e4a29ab5f49ffff001d1dac2b7c0101000000010000000000000000000000000000000000000000000000000000000000000000ffffffff4d04ffff001d0104455468652054696d65732030332f4a616e2f32303039204368616e63656c6c6f72206f6e206272696e6b206f66207365636f6e64206261696c6f757420666f722062616e6b73ffffffff0100f2052a01000000434104678afdb0fe5548271967f1a67130b7105cd6a828e03909a67962e0ea1f61deb649f6bc3f4cef38c4f35504e51ec112de5c384df7ba0b8d578a4c702b6bf11d5fac00000000";
+
+    @TempDir
+    Path blocksDirectory;
+
+    @Test
+    public void readBlocks() throws IOException {
+        Path blockFile = blocksDirectory.resolve("blk00000.dat");
+        Files.write(blockFile, blockFileContent(null));
+        assertBlocks(blockFile);
+    }
+
+    @Test
+    public void readObfuscatedBlocks() throws IOException {
+        byte[] xorKey = Hex.decode("0123456789abcdef");
+        Files.write(blocksDirectory.resolve("xor.dat"), xorKey);
+        Path blockFile = blocksDirectory.resolve("blk00000.dat");
+        Files.write(blockFile, blockFileContent(xorKey));
+        assertBlocks(blockFile);
+    }
+
+    @Test
+    public void rejectUnexpectedMagic() throws IOException {
+        byte[] content = blockFileContent(null);
+        int secondBlock = 8 + Hex.decode(GENESIS_BLOCK).length;
+        content[secondBlock] ^= 1;
+        Path blockFile = blocksDirectory.resolve("blk00000.dat");
+        Files.write(blockFile, content);
+        try (BlockFileReader blockFileReader = new BlockFileReader(blockFile)) {
+            assertTrue(blockFileReader.hasNext());
+            blockFileReader.next();
+            assertThrows(RuntimeException.class, blockFileReader::hasNext);
+        }
+    }
+
+    @Test
+    public void rejectTruncatedPrefix() throws IOException {
+        byte[] content = blockFileContent(null);
+        int end = 2 * (8 + Hex.decode(GENESIS_BLOCK).length);
+        byte[] truncated = new byte[end + 4];
+        System.arraycopy(content, 0, truncated, 0, end + 4);
+        System.arraycopy(Hex.decode(BlockFileReader.MAINNET_MAGIC), 0, truncated, end, 4);
+        Path blockFile = blocksDirectory.resolve("blk00000.dat");
+        Files.write(blockFile, truncated);
+        try (BlockFileReader blockFileReader = new BlockFileReader(blockFile)) {
+            blockFileReader.next();
+            blockFileReader.next();
+            assertThrows(RuntimeException.class, blockFileReader::hasNext);
+        }
+    }
+
+    private void assertBlocks(Path blockFile) throws IOException {
+        try (BlockFileReader blockFileReader = new BlockFileReader(blockFile)) {
+            int blocks = 0;
+            while (blockFileReader.hasNext()) {
+                ByteBuffer block = blockFileReader.next();
+                assertEquals(GENESIS_BLOCK.substring(0, 160), Hex.toHexString(bytes(BlockFileReader.readHeader(block))));
+                List<RawTransaction> transactions = BlockFileReader.readTransactions(block);
+                assertEquals(1, transactions.size());
+                assertEquals("4a5e1e4baab89f3a32518a88c31bc87f618f76673e2cc77ab2127b7afdeda33b", transactions.get(0).toTransaction().id());
+                assertEquals(5_000_000_000L, transactions.get(0).getAmount(0));
+                blocks++;
+            }
+            assertEquals(2, blocks);
+        }
+    }
+
+    private static byte[] blockFileContent(byte[] xorKey) {
+        byte[] block = Hex.decode(GENESIS_BLOCK);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        for (int i = 0; i < 2; i++) {
+            byteArrayOutputStream.writeBytes(Hex.decode(BlockFileReader.MAINNET_MAGIC));
+            byteArrayOutputStream.writeBytes(new byte[]{(byte) block.length, (byte) (block.length >>> 8), 0, 0});
+            byteArrayOutputStream.writeBytes(block);
+        }
+        byte[] content = byteArrayOutputStream.toByteArray();
+        if (xorKey != null) {
+            for (int i = 0; i < content.length; i++) {
+                content[i] ^= xorKey[i % xorKey.length];
+            }
+        }
+        ByteArrayOutputStream padded = new ByteArrayOutputStream();
+        padded.writeBytes(content);
+        padded.writeBytes(new byte[64]);
+        return padded.toByteArray();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
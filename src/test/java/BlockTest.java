@@ -0,0 +1,105 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.math.BigInteger.valueOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockTest {
+    private static final String GENESIS_BLOCK = "0100000000000000000000000000000000000000000000000000000000000000000000003ba3edfd7a7b12b27ac72c3e67768f617fc81bc3888a51323a9fb8aa4b1e5e4a29ab5f49ffff001d1dac2b7c0101000000010000000000000000000000000000000000000000000000000000000000000000ffffffff4d04ffff001d0104455468652054696d65732030332f4a616e2f32303039204368616e63656c6c6f72206f6e206272696e6b206f66207365636f6e64206261696c6f757420666f722062616e6b73ffffffff0100f2052a01000000434104678afdb0fe5548271967f1a67130b7105cd6a828e03909a67962e0ea1f61deb649f6bc3f4cef38c4f35504e51ec112de5c384df7ba0b8d578a4c702b6bf11d5fac00000000";
+
+    private static final String SEGWIT_TRANSACTION = "01000000000101076b57644e155af90f5d9f416b44a3794e0b982c2c427f0845c0e0c62fbb346f0000000000fdffffff0198eb100000000000160014934478b061fa4b5b4dba4f314fb380f3ef77e21902483045022100b7fcf54ae5d7c645b5b44ef7f846e95de9a97a099a447bf8daf14a46f5e3d464022025e709d6794a6fd5b69a7d271fc9a93fcc170b38cfbe5640b6c5d6ec88f021240121025330a1df68c516d32a87ea8ea3da573fa9d86b1b173875beecbf0bdbe45cba8cea7c0a00";
+
+    @Test
+    public void genesisBlock() {
+        Block block = Block.fromBytes(Hex.decode(GENESIS_BLOCK));
+        assertEquals("000000000019d6689c085ae165831e934ff763ae46a2a6c172b3f1b60a8ce26f", block.id());
+        assertEquals("4a5e1e4baab89f3a32518a88c31bc87f618f76673e2cc77ab2127b7afdeda33b", block.getHeader().getMerkleRoot());
+        assertEquals(1231006505L, block.getHeader().getTimestamp());
+        assertEquals(0x1d00ffffL, block.getHeader().getBits());
+        assertEquals(2083236893L, block.getHeader().getNonce());
+        assertEquals(new BigInteger("00000000ffff0000000000000000000000000000000000000000000000000000", 16), block.getHeader().target());
+        assertTrue(block.checkProofOfWork());
+        assertTrue(block.checkMerkleRoot());
+        assertTrue(block.checkWitnessCommitment());
+        assertEquals(GENESIS_BLOCK, block.serialize());
+    }
+
+    @Test
+    public void proofOfWorkFailsForHarderTarget() {
+        BlockHeader genesisHeader = Block.fromBytes(Hex.decode(GENESIS_BLOCK)).getHeader();
+        BlockHeader header = new BlockHeader(
+            genesisHeader.getVersion(),
+            genesisHeader.getPreviousBlockId(),
+            genesisHeader.getMerkleRoot(),
+            genesisHeader.getTimestamp(),
+            0x1b0404cbL,
+            genesisHeader.getNonce()
+        );
+        assertFalse(header.checkProofOfWork());
+    }
+
+    @Test
+    public void parallelMerkleRoot() {
+        Random random = new Random(42);
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < 3001; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            hashes.add(hash);
+        }
+        assertArrayEquals(naiveMerkleRoot(hashes), MerkleTree.root(hashes, new ForkJoinPool(4)));
+    }
+
+    @Test
+    public void witnessCommitment() throws IOException {
+        Transaction spend = Transaction.fromBytes(Hex.decode(SEGWIT_TRANSACTION));
+        String witnessReservedValue = "00".repeat(32);
+        Block unfinishedBlock = new Block(header("00".repeat(32)), List.of(coinbase(witnessReservedValue, "00".repeat(32)), spend));
+        byte[] commitment = Hash256.hash(Hex.decode(Hex.toHexString(unfinishedBlock.witnessMerkleRoot()).concat(witnessReservedValue)));
+
+        List<Transaction> transactions = List.of(coinbase(witnessReservedValue, Hex.toHexString(commitment)), spend);
+        Block block = new Block(header(Bytes.reverseToHex(new Block(header("00".repeat(32)), transactions).merkleRoot())), transactions);
+        assertTrue(block.checkMerkleRoot());
+        assertTrue(block.checkWitnessCommitment());
+
+        Block tamperedBlock = new Block(block.getHeader(), List.of(coinbase(witnessReservedValue, "11".repeat(32)), spend));
+        assertFalse(tamperedBlock.checkWitnessCommitment());
+        assertFalse(tamperedBlock.checkMerkleRoot());
+    }
+
+    private static BlockHeader header(String merkleRoot) {
+        return new BlockHeader(0x20000000L, "00".repeat(32), merkleRoot, 1_700_000_000L, 0x207fffffL, 0);
+    }
+
+    private static Transaction coinbase(String witnessReservedValue, String commitment) {
+        TransactionInput input = new TransactionInput("00".repeat(32), new BigInteger("ffffffff", 16), new Script(new ArrayList<>(List.of("0101"))), new BigInteger("ffffffff", 16));
+        input.setWitness(new Witness(new ArrayList<>(List.of(witnessReservedValue))));
+        ArrayList<TransactionInput> inputs = new ArrayList<>(List.of(input));
+        ArrayList<TransactionOutput> outputs = new ArrayList<>(List.of(
+            new TransactionOutput(valueOf(5_000_000_000L), Script.p2wpkhScript("934478b061fa4b5b4dba4f314fb380f3ef77e219")),
+            new TransactionOutput(BigInteger.ZERO, new Script(List.of(valueOf(OpCodes.OP_RETURN), "aa21a9ed".concat(commitment))))
+        ));
+        return new Transaction(BigInteger.ONE, inputs, outputs, BigInteger.ZERO, true);
+    }
+
+    private static byte[] naiveMerkleRoot(List<byte[]> hashes) {
+        if (hashes.size() == 1) {
+            return hashes.get(0);
+        }
+        List<byte[]> parents = new ArrayList<>();
+        for (int i = 0; i < hashes.size(); i += 2) {
+            byte[] left = hashes.get(i);
+            byte[] right = i + 1 < hashes.size() ? hashes.get(i + 1) : left;
+            parents.add(Hash256.hash(Hex.decode(Hex.toHexString(left).concat(Hex.toHexString(right)))));
+        }
+        return naiveMerkleRoot(parents);
+    }
+}
@@ -0,0 +1,109 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+public class CurveBenchmarkTest {
+    private static final int ITERATIONS = 2000;
+
+    private static final SecP256K1Curve PLAIN_CURVE = new SecP256K1Curve();
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void variableBaseMultiply() {
+        List<ECPoint> points = new ArrayList<>();
+        List<BigInteger> scalars = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            points.add(SecP256K1.multiplyG(randomScalar()).normalize());
+            scalars.add(randomScalar());
+        }
+        List<ECPoint> plainPoints = new ArrayList<>();
+        points.forEach(point -> plainPoints.add(PLAIN_CURVE.importPoint(point)));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(
+                points.get(i).multiply(scalars.get(i)).normalize().getAffineXCoord(),
+                plainPoints.get(i).multiply(scalars.get(i)).normalize().getAffineXCoord()
+            );
+        }
+
+        double plain = measure(i -> plainPoints.get(i).multiply(scalars.get(i)).normalize());
+        double glv = measure(i -> points.get(i).multiply(scalars.get(i)).normalize());
+        report("P * k", plain, glv);
+
+        ECPoint plainG = PLAIN_CURVE.importPoint(SecP256K1.G);
+        double plainTwo = measure(i -> ECAlgorithms.sumOfTwoMultiplies(plainG, scalars.get(i), plainPoints.get(i), scalars.get(ITERATIONS - 1 - i)).normalize());
+        double glvTwo = measure(i -> ECAlgorithms.sumOfTwoMultiplies(SecP256K1.G, scalars.get(i), points.get(i), scalars.get(ITERATIONS - 1 - i)).normalize());
+        report("G * a + P * b", plainTwo, glvTwo);
+    }
+
+    @Test
+    public void verify() {
+        List<PublicKey> publicKeys = new ArrayList<>();
+        List<byte[]> hashes = new ArrayList<>();
+        List<Signature> signatures = new ArrayList<>();
+        List<BigInteger> pubKeyXs = new ArrayList<>();
+        List<BigInteger> messages = new ArrayList<>();
+        List<BigInteger> schnorrSignatures = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            PrivateKey privateKey = new PrivateKey(randomScalar());
+            byte[] hash = Sha256.hash(BigInteger.valueOf(i).toByteArray());
+            publicKeys.add(privateKey.getPublicKey());
+            hashes.add(hash);
+            signatures.add(ECSigner.sign(privateKey, hash));
+            SchnorrKeyPair keyPair = new SchnorrKeyPair(privateKey.getSecret());
+            pubKeyXs.add(keyPair.getPublicKeyX());
+            messages.add(new BigInteger(1, hash));
+            schnorrSignatures.add(keyPair.sign(new BigInteger(1, hash), BigInteger.ZERO, false));
+        }
+
+        double ecdsa = measure(i -> assertTrue(ECSigner.verify(publicKeys.get(i), hashes.get(i), signatures.get(i))));
+        double schnorr = measure(i -> assertTrue(SchnorrSigner.verify(pubKeyXs.get(i), messages.get(i), schnorrSignatures.get(i))));
+        System.out.printf("ECDSA verify: %.1f us/op%n", ecdsa);
+        System.out.printf("Schnorr verify: %.1f us/op%n", schnorr);
+    }
+
+    @Test
+    public void xpubDerivation() {
+        ExtendedPubkey masterPubkey = ExtendedPubkey.fromPrivate(
+            HMacSha512.hash("Bitcoin seed", Hex.decode("000102030405060708090a0b0c0d0e0f")),
+            0,
+            "00000000",
+            BigInteger.ZERO,
+            ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()
+        );
+        double ckd = measure(i -> masterPubkey.ckd(BigInteger.valueOf(i), false, false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()));
+        System.out.printf("xpub ckd: %.1f us/op%n", ckd);
+    }
+
+    private BigInteger randomScalar() {
+        return new BigInteger(256, random).mod(SecP256K1.order.subtract(BigInteger.ONE)).add(BigInteger.ONE);
+    }
+
+    private static double measure(IntConsumer operation) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private static void report(String operation, double plain, double glv) {
+        System.out.printf("%s: plain %.1f us/op, GLV %.1f us/op, speedup %.2fx%n", operation, plain, glv, plain / glv);
+    }
+}
@@ -0,0 +1,79 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DerivationCacheTest {
+    private static final String PRIVATE_PREFIX = ExtendedKeyPrefixes.MAINNET_PREFIX.getPrivatePrefix();
+
+    private static final String PUBLIC_PREFIX = ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix();
+
+    private final ExtendedPrivateKey masterPrivateKey = ExtendedPrivateKey.from(
+        HMacSha512.hash("Bitcoin seed", Hex.decode("000102030405060708090a0b0c0d0e0f")),
+        0,
+        "00000000",
+        BigInteger.ZERO,
+        PRIVATE_PREFIX
+    );
+
+    @Test
+    public void derive() {
+        DerivationCache cache = new DerivationCache(16);
+        ExtendedKey account = masterPrivateKey
+            .ckd(BigInteger.valueOf(84), true, true, PRIVATE_PREFIX)
+            .ckd(BigInteger.ZERO, true, true, PRIVATE_PREFIX)
+            .ckd(BigInteger.ZERO, true, true, PRIVATE_PREFIX);
+        ExtendedKey external = account.ckd(BigInteger.ZERO, true, false, PRIVATE_PREFIX);
+        for (int i = 0; i < 5; i++) {
+            String path = "84'/0'/0'/0/" + i;
+            assertEquals(
+                external.ckd(BigInteger.valueOf(i), true, false, PRIVATE_PREFIX).serialize(),
+                cache.derive(masterPrivateKey, path, true, PRIVATE_PREFIX).serialize()
+            );
+            assertEquals(
+                external.ckd(BigInteger.valueOf(i), false, false, PUBLIC_PREFIX).serialize(),
+                masterPrivateKey.ckd(path, false, PUBLIC_PREFIX).serialize()
+            );
+        }
+        assertEquals(4, cache.size());
+        assertEquals(
+            external.ckd(BigInteger.valueOf(7), true, false, PRIVATE_PREFIX).serialize(),
+            masterPrivateKey.ckd("84'/0'/0'/0/7", true, PRIVATE_PREFIX, cache).serialize()
+        );
+        assertEquals(4, cache.size());
+        masterPrivateKey.ckd("84'/0'/1'/0/7", true, PRIVATE_PREFIX);
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void deriveFromPubkey() {
+        DerivationCache cache = new DerivationCache(16);
+        ExtendedPubkey pubkey = (ExtendedPubkey) masterPrivateKey.ckd("0'", false, PUBLIC_PREFIX);
+        ExtendedKey expected = pubkey
+            .ckd(BigInteger.ONE, false, false, PUBLIC_PREFIX)
+            .ckd(BigInteger.TWO, false, false, PUBLIC_PREFIX);
+        assertEquals(expected.serialize(), cache.derive(pubkey, "1/2", false, PUBLIC_PREFIX).serialize());
+        assertEquals(expected.serialize(), cache.derive(pubkey, "1/2", false, PUBLIC_PREFIX).serialize());
+        assertEquals(expected.serialize(), pubkey.ckd("1/2").serialize());
+        assertEquals(expected.serialize(), pubkey.ckd("1/2", PUBLIC_PREFIX, cache).serialize());
+        assertEquals(1, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> pubkey.ckd("1/2'"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        DerivationCache cache = new DerivationCache(2);
+        cache.derive(masterPrivateKey, "0'/1/2", true, PRIVATE_PREFIX);
+        assertEquals(2, cache.size());
+        cache.derive(masterPrivateKey, "1'/1", true, PRIVATE_PREFIX);
+        assertEquals(2, cache.size());
+        String expected = masterPrivateKey.ckd("0'/1/3", true, PRIVATE_PREFIX).serialize();
+        assertEquals(expected, cache.derive(masterPrivateKey, "0'/1/3", true, PRIVATE_PREFIX).serialize());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new DerivationCache(-1));
+    }
+}
@@ -2,6 +2,7 @@ import io.github.bitcoineducation.bitcoinjava.*;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -9,9 +10,12 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.Security;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ExtendedKeyTest {
     @BeforeAll
@@ -26,6 +30,51 @@ public class ExtendedKeyTest {
         testUnserialization(expectedSerializedExtendedKey, extendedKey);
     }
 
+    @Test
+    public void ckdRange() {
+        ExtendedPubkey masterPubkey = ExtendedPubkey.fromPrivate(
+            HMacSha512.hash("Bitcoin seed", Hex.decode("000102030405060708090a0b0c0d0e0f")),
+            0,
+            "00000000",
+            BigInteger.ZERO,
+            ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()
+        );
+        List<ExtendedPubkey> children = masterPubkey.ckdRange(10, 50, new ForkJoinPool(3));
+        assertEquals(40, children.size());
+        for (int i = 0; i < children.size(); i++) {
+            assertEquals(
+                masterPubkey.ckd(BigInteger.valueOf(10 + i), false, false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()).serialize(),
+                children.get(i).serialize()
+            );
+        }
+        assertEquals(0, masterPubkey.ckdRange(7, 7).size());
+        assertThrows(IllegalArgumentException.class, () -> masterPubkey.ckdRange(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> masterPubkey.ckdRange(0, ExtendedPubkey.HARDENED_INDEX_OFFSET + 1));
+        assertThrows(IllegalArgumentException.class, () -> masterPubkey.ckdRange(0, ExtendedPubkey.HARDENED_INDEX_OFFSET));
+    }
+
+    @Test
+    public void derivationKeepsDecodedPoints() throws IOException {
+        PointDecoder.clearCache();
+        ExtendedPrivateKey masterPrivateKey = ExtendedPrivateKey.from(
+            HMacSha512.hash("Bitcoin seed", Hex.decode("000102030405060708090a0b0c0d0e0f")),
+            0,
+            "00000000",
+            BigInteger.ZERO,
+            ExtendedKeyPrefixes.MAINNET_PREFIX.getPrivatePrefix()
+        );
+        ExtendedPubkey chain = (ExtendedPubkey) masterPrivateKey.ckd("0'/1", false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix());
+        ExtendedKey child = chain.ckd(BigInteger.ZERO, false, false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix());
+        child.ckd(BigInteger.ONE, false, false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()).toPublicKey();
+        new AddressGenerator(chain, AddressGenerator.AddressType.P2WPKH, AddressConstants.MAINNET_P2WPKH_ADDRESS_PREFIX).generate(0, 1000);
+        assertEquals(0, PointDecoder.cacheSize());
+
+        ExtendedPubkey unserialized = ExtendedPubkey.unserialize(chain.serialize());
+        assertEquals(chain.getPoint(), unserialized.getPoint());
+        assertEquals(child.serialize(), unserialized.ckd(BigInteger.ZERO, false, false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix()).serialize());
+        assertEquals(1, PointDecoder.cacheSize());
+    }
+
     @ParameterizedTest
     @MethodSource("vector2Parameters")
     public void vector2(String expectedSerializedExtendedKey, ExtendedKey extendedKey) throws IOException {
@@ -0,0 +1,73 @@
+import io.github.bitcoineducation.bitcoinjava.GeneratorMultiplier;
+import io.github.bitcoineducation.bitcoinjava.SecP256K1;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.TWO;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratorMultiplierTest {
+    private static final List<BigInteger> SCALARS = List.of(
+        ONE,
+        TWO,
+        BigInteger.valueOf(31),
+        BigInteger.valueOf(32),
+        BigInteger.valueOf(255),
+        BigInteger.valueOf(256),
+        ONE.shiftLeft(128).subtract(ONE),
+        ONE.shiftLeft(255).add(ONE),
+        SecP256K1.order.subtract(ONE),
+        SecP256K1.order.add(BigInteger.TEN),
+        ONE.shiftLeft(256).subtract(ONE),
+        BigInteger.valueOf(-5)
+    );
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4, 5, 7, 8})
+    public void multiply(int window) {
+        GeneratorMultiplier multiplier = new GeneratorMultiplier(window);
+        for (BigInteger k : SCALARS) {
+            assertEquals(SecP256K1.G.multiply(k).normalize(), multiplier.multiply(k).normalize(), k.toString());
+        }
+        Random random = new Random(window);
+        for (int i = 0; i < 50; i++) {
+            BigInteger k = new BigInteger(256, random);
+            assertEquals(SecP256K1.G.multiply(k).normalize(), multiplier.multiply(k).normalize(), k.toString());
+        }
+        assertTrue(multiplier.multiply(SecP256K1.order).isInfinity());
+        assertTrue(multiplier.multiply(BigInteger.ZERO).isInfinity());
+    }
+
+    @Test
+    public void multiplyOtherPoint() {
+        BigInteger k = new BigInteger("123456789abcdef", 16);
+        assertEquals(
+            SecP256K1.G.twice().multiply(k).normalize(),
+            SecP256K1.generatorMultiplier.multiply(SecP256K1.G.twice(), k).normalize()
+        );
+        assertEquals(SecP256K1.G.multiply(k).normalize(), SecP256K1.generatorMultiplier.multiply(SecP256K1.G, k).normalize());
+    }
+
+    @Test
+    public void invalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorMultiplier(0));
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorMultiplier(9));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "9", "-1", "five"})
+    public void fromPropertiesFallsBackToDefaultWindow(String window) {
+        System.setProperty(GeneratorMultiplier.WINDOW_PROPERTY, window);
+        try {
+            assertEquals(GeneratorMultiplier.DEFAULT_WINDOW, GeneratorMultiplier.fromProperties().getWindow());
+        } finally {
+            System.clearProperty(GeneratorMultiplier.WINDOW_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+import io.github.bitcoineducation.bitcoinjava.OutPoint;
+import io.github.bitcoineducation.bitcoinjava.Transaction;
+import io.github.bitcoineducation.bitcoinjava.TransactionInput;
+import io.github.bitcoineducation.bitcoinjava.TxId;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutPointTest {
+    private static final String TX_ID = "d1c789a9c60383bf715f3f6ad9d14b91fe55f3deb369fe5d9280cb1a01793f81";
+
+    @Test
+    public void txId() {
+        TxId txId = TxId.fromHex(TX_ID);
+        assertEquals(TX_ID, txId.toHex());
+        assertArrayEquals(Hex.decode("813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1"), txId.getHash());
+        assertEquals(txId, TxId.fromHash(txId.getHash()));
+        assertEquals(txId.hashCode(), TxId.fromHash(txId.getHash()).hashCode());
+        assertThrows(IllegalArgumentException.class, () -> TxId.fromHex("00"));
+    }
+
+    @Test
+    public void outPoint() {
+        OutPoint outPoint = new OutPoint(TxId.fromHex(TX_ID), 0xfffffffeL);
+        assertEquals("813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1feffffff", Hex.toHexString(outPoint.toBytes()));
+        assertEquals(TxId.fromHex(TX_ID), outPoint.getTxId());
+        assertEquals(0xfffffffeL, outPoint.getIndex());
+        assertEquals(0xfffffffeL, OutPoint.fromBytes(outPoint.toBytes()).getIndex());
+        assertEquals(TxId.fromHex(TX_ID), OutPoint.fromBytes(outPoint.toBytes()).getTxId());
+        assertEquals(outPoint, OutPoint.fromBuffer(ByteBuffer.wrap(outPoint.toBytes()), 0));
+        assertNotEquals(outPoint, new OutPoint(TxId.fromHex(TX_ID), 0));
+        Map<OutPoint, String> outPoints = new HashMap<>();
+        outPoints.put(outPoint, "spent");
+        assertEquals("spent", outPoints.get(OutPoint.fromBytes(outPoint.toBytes())));
+    }
+
+    @Test
+    public void transactionOutPoints() {
+        String txHex = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        TransactionInput input = transaction.getInputs().get(0);
+        assertEquals(TX_ID, input.getPreviousTransactionId());
+        assertEquals(new OutPoint(TxId.fromHex(TX_ID), 0), input.getOutPoint());
+        assertSame(input.getOutPoint(), input.getOutPoint());
+        assertEquals("452c629d67e41baec3ac6f04fe744b4b9617f8f859c63b3002f8684e7a4fee03", transaction.txId().toHex());
+    }
+}
@@ -0,0 +1,76 @@
+import io.github.bitcoineducation.bitcoinjava.BIP340;
+import io.github.bitcoineducation.bitcoinjava.PointDecoder;
+import io.github.bitcoineducation.bitcoinjava.SecP256K1;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointDecoderTest {
+    private static final BigInteger NOT_ON_CURVE_X = new BigInteger("eefdea4cdb677750a420fee807eacf21eb9898ae79b9768766e4faa04a2d4a34", 16);
+
+    @Test
+    public void decompress() {
+        for (int i = 1; i <= 20; i++) {
+            ECPoint expected = SecP256K1.G.multiply(BigInteger.valueOf(i * 7919L)).normalize();
+            byte[] compressed = expected.getEncoded(true);
+            assertEquals(expected, PointDecoder.decompress(compressed));
+            assertEquals(expected, SecP256K1.curve.decodePoint(compressed));
+        }
+    }
+
+    @Test
+    public void decompressInvalid() {
+        byte[] compressed = new byte[33];
+        compressed[0] = 2;
+        System.arraycopy(Hex.decode(NOT_ON_CURVE_X.toString(16)), 0, compressed, 1, 32);
+        assertThrows(IllegalArgumentException.class, () -> PointDecoder.decompress(compressed));
+        assertThrows(IllegalArgumentException.class, () -> PointDecoder.decompress(new byte[32]));
+        byte[] xTooLarge = new byte[33];
+        xTooLarge[0] = 3;
+        System.arraycopy(SecP256K1.curve.getQ().toByteArray(), 1, xTooLarge, 1, 32);
+        assertThrows(IllegalArgumentException.class, () -> PointDecoder.decompress(xTooLarge));
+        for (int prefix : new int[]{0x00, 0x04, 0x06, 0x07}) {
+            byte[] invalidPrefix = SecP256K1.G.getEncoded(true);
+            invalidPrefix[0] = (byte) prefix;
+            assertThrows(IllegalArgumentException.class, () -> PointDecoder.decompress(invalidPrefix));
+        }
+    }
+
+    @Test
+    public void liftX() {
+        ECPoint point = SecP256K1.G.multiply(BigInteger.valueOf(3)).normalize();
+        BigInteger x = point.getAffineXCoord().toBigInteger();
+        ECPoint lifted = PointDecoder.liftX(x);
+        assertFalse(lifted.getAffineYCoord().testBitZero());
+        assertEquals(x, lifted.getAffineXCoord().toBigInteger());
+        assertTrue(lifted.isValid());
+        assertEquals(lifted, BIP340.liftX(x));
+        assertNull(PointDecoder.liftX(NOT_ON_CURVE_X));
+        assertNull(PointDecoder.liftX(SecP256K1.curve.getQ()));
+        assertNull(PointDecoder.liftX(BigInteger.ONE.shiftLeft(256)));
+        assertNull(BIP340.liftX(NOT_ON_CURVE_X));
+    }
+
+    @Test
+    public void cache() {
+        PointDecoder.clearCache();
+        byte[] compressed = SecP256K1.G.multiply(BigInteger.valueOf(42)).normalize().getEncoded(true);
+        ECPoint first = PointDecoder.decompress(compressed);
+        assertSame(first, PointDecoder.decompress(compressed.clone()));
+        byte[] xOnly = new byte[32];
+        System.arraycopy(compressed, 1, xOnly, 0, 32);
+        ECPoint lifted = PointDecoder.liftX(new BigInteger(1, xOnly));
+        assertSame(lifted, PointDecoder.liftX(new BigInteger(1, xOnly)));
+        assertTrue(PointDecoder.cacheSize() <= 2);
+        for (int i = 1; i <= PointDecoder.DEFAULT_CACHE_SIZE + 10; i++) {
+            PointDecoder.decompress(SecP256K1.multiplyG(BigInteger.valueOf(i + 100)).normalize().getEncoded(true));
+            assertSame(first, PointDecoder.decompress(compressed));
+        }
+        assertEquals(PointDecoder.DEFAULT_CACHE_SIZE, PointDecoder.cacheSize());
+        assertSame(first, PointDecoder.decompress(compressed));
+    }
+}
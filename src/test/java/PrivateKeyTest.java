@@ -14,6 +14,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class PrivateKeyTest {
     @BeforeAll
@@ -34,6 +35,16 @@ public class PrivateKeyTest {
         );
     }
 
+    @Test
+    public void publicKeyIsComputedOnce() {
+        PrivateKey privateKey = new PrivateKey(BigInteger.valueOf(5000));
+        PublicKey publicKey = privateKey.getPublicKey();
+        assertSame(publicKey, privateKey.getPublicKey());
+        assertSame(publicKey.getCompressedPublicKey(), publicKey.getCompressedPublicKey());
+        assertSame(publicKey.getUncompressedPublicKey(), publicKey.getUncompressedPublicKey());
+        assertEquals("02ffe558e388852f0120e46af2d1b370f85854a8eb0841811ece0e3e03d282d57c", publicKey.compressedPublicKeyHex());
+    }
+
     @Test
     public void testUncompressedPublicKeyHex2() {
         PrivateKey privateKey = new PrivateKey(BigInteger.valueOf(2018).pow(5));
@@ -0,0 +1,91 @@
+import io.github.bitcoineducation.bitcoinjava.RawTransaction;
+import io.github.bitcoineducation.bitcoinjava.Transaction;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RawTransactionTest {
+    @ParameterizedTest
+    @MethodSource("transactionParameters")
+    public void toTransaction(String txHex) throws IOException {
+        Transaction expectedTransaction = Transaction.fromByteStream(new ByteArrayInputStream(Hex.decode(txHex)));
+        Transaction transaction = RawTransaction.parse(Hex.decode(txHex)).toTransaction();
+        assertEquals(txHex, transaction.serialize());
+        assertEquals(expectedTransaction.id(), transaction.id());
+        assertEquals(expectedTransaction.getVSize(), transaction.getVSize());
+    }
+
+    @ParameterizedTest
+    @MethodSource("transactionParameters")
+    public void sizes(String txHex) throws IOException {
+        RawTransaction rawTransaction = RawTransaction.parse(Hex.decode(txHex));
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        assertEquals(transaction.getSize(), rawTransaction.getSize());
+        assertEquals(transaction.getStrippedSize(), rawTransaction.getStrippedSize());
+        assertArrayEquals(Hex.decode(txHex), rawTransaction.toBytes());
+    }
+
+    @ParameterizedTest
+    @MethodSource("transactionParameters")
+    public void ids(String txHex) throws IOException {
+        RawTransaction rawTransaction = RawTransaction.parse(Hex.decode(txHex));
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        assertEquals(transaction.id(), rawTransaction.id());
+        assertEquals(transaction.wtxid(), rawTransaction.wtxid());
+    }
+
+    @Test
+    public void fields() throws IOException {
+        String txHex = "01000000000101076b57644e155af90f5d9f416b44a3794e0b982c2c427f0845c0e0c62fbb346f0000000000fdffffff0198eb100000000000160014934478b061fa4b5b4dba4f314fb380f3ef77e21902483045022100b7fcf54ae5d7c645b5b44ef7f846e95de9a97a099a447bf8daf14a46f5e3d464022025e709d6794a6fd5b69a7d271fc9a93fcc170b38cfbe5640b6c5d6ec88f021240121025330a1df68c516d32a87ea8ea3da573fa9d86b1b173875beecbf0bdbe45cba8cea7c0a00";
+        RawTransaction rawTransaction = RawTransaction.parse(Hex.decode(txHex));
+        assertTrue(rawTransaction.isSegwit());
+        assertEquals(1, rawTransaction.getVersion());
+        assertEquals(687338, rawTransaction.getLocktime());
+        assertEquals(1, rawTransaction.getInputCount());
+        assertEquals("6f34bb2fc6e0c045087f422c2c980b4e79a3446b419f5d0ff95a154e64576b07", rawTransaction.getPreviousTransactionId(0));
+        assertEquals(0, rawTransaction.getPreviousIndex(0));
+        assertEquals(0xfffffffdL, rawTransaction.getSequence(0));
+        assertEquals("00", rawTransaction.getScriptSig(0).serialize());
+        assertEquals(1_108_888, rawTransaction.getAmount(0));
+        assertEquals("160014934478b061fa4b5b4dba4f314fb380f3ef77e219", rawTransaction.getScriptPubkey(0).serialize());
+        assertEquals("0014934478b061fa4b5b4dba4f314fb380f3ef77e219", Hex.toHexString(rawTransaction.getScriptPubkeyBytes(0)));
+        assertEquals("02483045022100b7fcf54ae5d7c645b5b44ef7f846e95de9a97a099a447bf8daf14a46f5e3d464022025e709d6794a6fd5b69a7d271fc9a93fcc170b38cfbe5640b6c5d6ec88f021240121025330a1df68c516d32a87ea8ea3da573fa9d86b1b173875beecbf0bdbe45cba8c", rawTransaction.getWitness(0).serialize());
+    }
+
+    @Test
+    public void parseSequentially() throws IOException {
+        String txHex1 = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
+        String txHex2 = "02000000000101a7d259daff3c5ab82bf79b183ca82b1c30d5803ba238f87cde51b4b4b2d3eee10100000000ffffffff02204e000000000000160014b92e162808d34111cbccfb60ff200df058e4ac415911000000000000160014699e2580a45a56c0916aaceab1fcc41c0d30e4080247304402202aff7cb99e8bda7980a814b8347d48e441844f20548047fb3f348fdf0cf0ee4e02206f0e50e3443f8a9364ebef6412c7e6ad8fff895e7cf1a3f0332b8d7d93053b310121026298c137dd1e07f0ba5fc1f74af934fabea5415e9c2632b4cc100abbdf080d4000000000";
+        ByteBuffer buffer = ByteBuffer.wrap(Hex.decode(txHex1.concat(txHex2)));
+        assertEquals(txHex1, RawTransaction.parse(buffer).toTransaction().serialize());
+        assertEquals(txHex2, RawTransaction.parse(buffer).toTransaction().serialize());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void rejectTruncatedScripts() {
+        String txHex = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
+        for (int length : new int[]{41, 148, 152, 170, 190}) {
+            ByteBuffer buffer = ByteBuffer.wrap(Hex.decode(txHex.substring(0, length * 2)));
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> RawTransaction.parse(buffer));
+            assertTrue(exception.getMessage().startsWith("Parsing transaction failed"), exception.getMessage());
+        }
+    }
+
+    private static Stream<Arguments> transactionParameters() {
+        return Stream.of(
+            Arguments.of("0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600"),
+            Arguments.of("01000000000101076b57644e155af90f5d9f416b44a3794e0b982c2c427f0845c0e0c62fbb346f0000000000fdffffff0198eb100000000000160014934478b061fa4b5b4dba4f314fb380f3ef77e21902483045022100b7fcf54ae5d7c645b5b44ef7f846e95de9a97a099a447bf8daf14a46f5e3d464022025e709d6794a6fd5b69a7d271fc9a93fcc170b38cfbe5640b6c5d6ec88f021240121025330a1df68c516d32a87ea8ea3da573fa9d86b1b173875beecbf0bdbe45cba8cea7c0a00"),
+            Arguments.of("020000000001043025c5159bbe2cbdae741d31e551eb48c5c1078133a51a1d7a046ebf23ae194c3e00000000ffffffffcfac880c144c02e2646a38b2e3db69ead21c2cd9891f227c4d9bb03097f4a5fe1e00000000ffffffff8cd8d6da39e6790b793312c016f8da863ea570056687826ae84b6ea252810df92400000000ffffffffb1b463c86bbee268f654d1c177dd6ec18bf6e7c7127767c6995af4735a915d390a00000000ffffffff02401640000000000016001454e0c2d7d8dc2fccd4c688b63d35f43e283f86ad1278010000000000160014e9f01945feaf8ffbd8bfdad35dfc545b5dca907002483045022100dda80bc76b6c4725f3ee80479bd10d6df54f57124b82aa8b4e2f6a1c8e669b160220536eeeb4fcbdca34d6e55bbe951e79a2522a2bb1c38d7604a9312760539eb10a01210278027fae992d5baa8b45e5427b58cdecb2cd4ccad2d0807d215962a2fd66049d02473044022009c88fb671b8f15fb02b94039d00e08d1c1e457ca238fc9406c11fd4878f742a02204e6c31c88cf4209631fd2e3d3e7adfef5e3ddc34d8cd98dc0ad40fbfc94a150901210278027fae992d5baa8b45e5427b58cdecb2cd4ccad2d0807d215962a2fd66049d024730440220174ead317a44acbdbb8d0ca083d01e38ad92f982bd8b082f105662a2d534cdc8022049fac331335d2930505a51d72532ab0a10142ea51326713e1de57c145fb3b63c01210278027fae992d5baa8b45e5427b58cdecb2cd4ccad2d0807d215962a2fd66049d02483045022100c4a2ac0432aa8e2b3d0e92b821f2395f230cf51a6a5b90c91b0875cdd7450715022075994ced792f37f94d6bde069fa0256118c290703d0052a191bb76073096231c01210278027fae992d5baa8b45e5427b58cdecb2cd4ccad2d0807d215962a2fd66049d00000000")
+        );
+    }
+}
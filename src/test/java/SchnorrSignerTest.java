@@ -1,13 +1,20 @@
+import io.github.bitcoineducation.bitcoinjava.PrivateKey;
+import io.github.bitcoineducation.bitcoinjava.SchnorrBatchResult;
+import io.github.bitcoineducation.bitcoinjava.SchnorrKeyPair;
 import io.github.bitcoineducation.bitcoinjava.SchnorrSigner;
+import io.github.bitcoineducation.bitcoinjava.Sha256;
 import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SchnorrSignerTest {
     @ParameterizedTest
@@ -20,6 +27,21 @@ public class SchnorrSignerTest {
         assertEquals(expectedSignature, SchnorrSigner.sign(secret, message, auxRand));
     }
 
+    @ParameterizedTest
+    @MethodSource("signParameters")
+    public void signWithKeyPair(String secretString, String auxRandString, String messageString, String signatureString) {
+        SchnorrKeyPair keyPair = new SchnorrKeyPair(new BigInteger(1, Hex.decode(secretString)));
+        BigInteger auxRand = new BigInteger(1, Hex.decode(auxRandString));
+        BigInteger message = new BigInteger(1, Hex.decode(messageString));
+        BigInteger expectedSignature = new BigInteger(1, Hex.decode(signatureString));
+        assertEquals(expectedSignature, keyPair.sign(message, auxRand));
+        assertEquals(expectedSignature, keyPair.sign(message, auxRand, true));
+        BigInteger otherMessage = message.xor(BigInteger.ONE);
+        BigInteger otherSignature = keyPair.sign(otherMessage, auxRand);
+        assertTrue(SchnorrSigner.verify(keyPair.getPublicKeyX(), otherMessage, otherSignature));
+        assertFalse(SchnorrSigner.verify(keyPair.getPublicKeyX(), message, otherSignature));
+    }
+
     @ParameterizedTest
     @MethodSource("verifyParameters")
     public void verify(String pubkeyString, String messageString, String signatureString, boolean expectedResult) {
@@ -29,6 +51,39 @@ public class SchnorrSignerTest {
         assertEquals(expectedResult, SchnorrSigner.verify(pubKeyX, message, signature));
     }
 
+    @ParameterizedTest
+    @MethodSource("verifyParameters")
+    public void verifyBatchOfOne(String pubkeyString, String messageString, String signatureString, boolean expectedResult) {
+        List<BigInteger> pubKeyXs = List.of(new BigInteger(1, Hex.decode(pubkeyString)));
+        List<BigInteger> messages = List.of(new BigInteger(1, Hex.decode(messageString)));
+        List<BigInteger> signatures = List.of(new BigInteger(1, Hex.decode(signatureString)));
+        SchnorrBatchResult result = SchnorrSigner.verifyBatch(pubKeyXs, messages, signatures);
+        assertEquals(expectedResult, result.isValid());
+        assertEquals(expectedResult ? -1 : 0, result.getInvalidIndex());
+    }
+
+    @Test
+    public void verifyBatch() {
+        List<BigInteger> pubKeyXs = new ArrayList<>();
+        List<BigInteger> messages = new ArrayList<>();
+        List<BigInteger> signatures = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            BigInteger secret = BigInteger.valueOf(i).multiply(BigInteger.valueOf(1_000_003));
+            BigInteger message = new BigInteger(1, Sha256.hash(BigInteger.valueOf(i).toByteArray()));
+            pubKeyXs.add(new PrivateKey(secret).getPublicKey().getX());
+            messages.add(message);
+            signatures.add(SchnorrSigner.sign(secret, message, BigInteger.valueOf(i)));
+        }
+        SchnorrBatchResult result = SchnorrSigner.verifyBatch(pubKeyXs, messages, signatures);
+        assertTrue(result.isValid());
+        assertEquals(-1, result.getInvalidIndex());
+
+        messages.set(11, messages.get(11).add(BigInteger.ONE));
+        result = SchnorrSigner.verifyBatch(pubKeyXs, messages, signatures);
+        assertFalse(result.isValid());
+        assertEquals(11, result.getInvalidIndex());
+    }
+
     private static Stream<Arguments> signParameters() {
         return Stream.of(
             Arguments.of(
@@ -1,11 +1,15 @@
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
-import io.github.bitcoineducation.bitcoinjava.Signature;
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SignatureTest {
     @Test
@@ -17,4 +21,58 @@ public class SignatureTest {
         assertEquals("3045022037206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec", signature.derHex());
     }
 
+    @Test
+    public void parseDer() throws IOException {
+        String derHex = "3045022037206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec";
+        Signature signature = Signature.fromDerHex(derHex);
+        assertEquals(new BigInteger(1, Hex.decodeStrict("37206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c6")), signature.getR());
+        assertEquals(new BigInteger(1, Hex.decodeStrict("8ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec")), signature.getS());
+        assertEquals(derHex, signature.derHex());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "3046022037206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec",
+        "3045022137206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec",
+        "30440220b7206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c602208ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec",
+        "304602210037206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec",
+        "3145022037206a0610995c58074999cb9767b87af4c4978db68c06e8e6e81d282047a7c60221008ca63759c1157ebeaec0d03cecca119fc9a75bf8e6d0fa65c841c8e2738cdaec",
+        "300602000201010000",
+        "300602fa00000000",
+        "3006028101020101"
+    })
+    public void rejectNonStrictDer(String derHex) {
+        assertFalse(Signature.isStrictDer(Hex.decodeStrict(derHex)));
+        assertThrows(IllegalArgumentException.class, () -> Signature.fromDerHex(derHex));
+    }
+
+    @Test
+    public void verify() {
+        PrivateKey privateKey = new PrivateKey(BigInteger.valueOf(8675309));
+        byte[] hash = Sha256.hash("message".getBytes());
+        Signature signature = ECSigner.sign(privateKey, hash);
+        assertTrue(ECSigner.verify(privateKey.getPublicKey(), hash, signature));
+        assertFalse(ECSigner.verify(privateKey.getPublicKey(), Sha256.hash("other".getBytes()), signature));
+        assertFalse(ECSigner.verify(new PrivateKey(BigInteger.TEN).getPublicKey(), hash, signature));
+        Signature highS = new Signature(signature.getR(), SecP256K1.order.subtract(signature.getS()));
+        assertFalse(ECSigner.verify(privateKey.getPublicKey(), hash, highS));
+    }
+
+    @Test
+    public void verifyAll() {
+        List<PublicKey> publicKeys = new ArrayList<>();
+        List<byte[]> hashes = new ArrayList<>();
+        List<Signature> signatures = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            PrivateKey privateKey = new PrivateKey(BigInteger.valueOf(i * 7919L));
+            byte[] hash = Sha256.hash(BigInteger.valueOf(i).toByteArray());
+            publicKeys.add(privateKey.getPublicKey());
+            hashes.add(hash);
+            signatures.add(ECSigner.sign(privateKey, hash));
+        }
+        assertTrue(ECSigner.verifyAll(publicKeys, hashes, signatures));
+        hashes.set(27, Sha256.hash(new byte[]{1}));
+        assertFalse(ECSigner.verifyAll(publicKeys, hashes, signatures));
+    }
+
 }
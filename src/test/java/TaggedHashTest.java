@@ -0,0 +1,24 @@
+import io.github.bitcoineducation.bitcoinjava.Sha256;
+import io.github.bitcoineducation.bitcoinjava.TaggedHash;
+import org.bouncycastle.pqc.math.linearalgebra.ByteUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class TaggedHashTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"BIP0340/aux", "BIP0340/nonce", "BIP0340/challenge", "TapLeaf", "TapBranch", "TapTweak", "TapSighash", "CustomTag"})
+    public void hash(String tag) {
+        byte[] first = Hex.decode("0000000000000000000000000000000000000000000000000000000000000001");
+        byte[] second = Hex.decode("f9308a019258c31049344f85f89d5229b531c845836f99b08601f113bce036f9");
+        byte[] shaTag = Sha256.hash(tag.getBytes(StandardCharsets.UTF_8));
+        byte[] expected = Sha256.hash(ByteUtils.concatenate(ByteUtils.concatenate(shaTag, shaTag), ByteUtils.concatenate(first, second)));
+        assertArrayEquals(expected, TaggedHash.hash(tag, ByteUtils.concatenate(first, second)));
+        assertArrayEquals(expected, TaggedHash.hash(tag, first, second));
+        assertArrayEquals(expected, TaggedHash.hash(tag, ByteUtils.concatenate(ByteUtils.concatenate(second, first), second), 32, 64));
+    }
+}
@@ -0,0 +1,144 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaprootSigHasherTest {
+    private static final String TX_HEX = "0100000002fff7f7881a8099afa6940d42d1e7f6362bec38171ea3edf433541db4e4ad969f0000000000eeffffffef51e1b804cc89d182d279655c3aa89e815b1b309fe287d9b2b55d57b90ec68a0100000000ffffffff02202cb206000000001976a9148280b37df378db99f66f85c95a783a76ac7a6d5988ac9093510d000000001976a9143bde42dbee7e4dbe6a21b2d50ce2f0167faa815988ac11000000";
+
+    private static final String BIP341_TX_HEX = "02000000097de20cbff686da83a54981d2b9bab3586f4ca7e48f57f5b55963115f3b334e9c010000000000000000d7b7cab57b1393ace2d064f4d4a2cb8af6def61273e127517d44759b6dafdd990000000000fffffffff8e1f583384333689228c5d28eac13366be082dc57441760d957275419a418420000000000fffffffff0689180aa63b30cb162a73c6d2a38b7eeda2a83ece74310fda0843ad604853b0100000000feffffffaa5202bdf6d8ccd2ee0f0202afbbb7461d9264a25e5bfd3c5a52ee1239e0ba6c0000000000feffffff956149bdc66faa968eb2be2d2faa29718acbfe3941215893a2a3446d32acd050000000000000000000e664b9773b88c09c32cb70a2a3e4da0ced63b7ba3b22f848531bbb1d5d5f4c94010000000000000000e9aa6b8e6c9de67619e6a3924ae25696bb7b694bb677a632a74ef7eadfd4eabf0000000000ffffffffa778eb6a263dc090464cd125c466b5a99667720b1c110468831d058aa1b82af10100000000ffffffff0200ca9a3b000000001976a91406afd46bcdfd22ef94ac122aa11f241244a37ecc88ac807840cb0000000020ac9a87f5594be208f8532db38cff670c450ed2fea8fcdefcc9a663f78bab962b0065cd1d";
+
+    private static final String BIP341_UNPARSEABLE_OUTPUT_SCRIPT = "20ac9a87f5594be208f8532db38cff670c450ed2fea8fcdefcc9a663f78bab962b";
+
+    private static final String TAPSCRIPT = "20" + "33".repeat(32) + "ac";
+
+    @ParameterizedTest
+    @MethodSource("keyPathParameters")
+    public void keyPathSigHash(int inputIndex, int hashType, String expectedSigHash) throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode(TX_HEX));
+        TaprootSigHasher sigHasher = transaction.taprootSigHasher(spentOutputs());
+        assertEquals(expectedSigHash, Hex.toHexString(sigHasher.sigHash(inputIndex, hashType)));
+    }
+
+    @Test
+    public void annexAndScriptPath() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode(TX_HEX));
+        TaprootSigHasher sigHasher = transaction.taprootSigHasher(spentOutputs());
+        byte[] tapLeafHash = TaprootSigHasher.tapLeafHash(tapscript());
+        assertEquals("09a92baa98c1a8f27c68073f646af93df434eca1a0102e82f3172dd48dc79969", Hex.toHexString(tapLeafHash));
+        assertEquals("cea68472f1068cf823b617222c622b981b6eeb85ac74b2b348e9a867278e781a", Hex.toHexString(sigHasher.sigHash(1, 0, Hex.decode("50aabb"))));
+        assertEquals("aa8c9d4c642413dec73944e5be10a5233188eb5057a5157142b6d29bdf35038b", Hex.toHexString(sigHasher.sigHashScriptPath(0, 0, tapLeafHash, TaprootSigHasher.NO_CODE_SEPARATOR)));
+        assertEquals("60acd9b56284ac3df54d71f2daaa610aae120d54231c78333e328f96db882f38", Hex.toHexString(sigHasher.sigHash(1, 0x83, Hex.decode("50"), tapLeafHash, 3)));
+    }
+
+    @Test
+    public void invalidHashTypes() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode(TX_HEX));
+        TaprootSigHasher sigHasher = transaction.taprootSigHasher(spentOutputs());
+        assertThrows(IllegalArgumentException.class, () -> sigHasher.sigHash(0, 0x80));
+        assertThrows(IllegalArgumentException.class, () -> sigHasher.sigHash(0, 0x04));
+        assertThrows(IllegalArgumentException.class, () -> sigHasher.sigHash(0, 0, Hex.decode("00")));
+    }
+
+    @Test
+    public void sigHasherIsRebuiltForDifferentSpentOutputs() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode(TX_HEX));
+        TaprootSigHasher sigHasher = transaction.taprootSigHasher(spentOutputs());
+        assertSame(sigHasher, transaction.taprootSigHasher(spentOutputs()));
+        List<TransactionOutput> otherSpentOutputs = List.of(spentOutputs().get(0), new TransactionOutput(1L, spentOutputs().get(1).getScriptPubkey()));
+        assertNotEquals(
+            Hex.toHexString(sigHasher.sigHash(0, 0)),
+            Hex.toHexString(transaction.taprootSigHasher(otherSpentOutputs).sigHash(0, 0))
+        );
+    }
+
+    @Test
+    public void sigHashTaprootReturnsSigMsg() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode(TX_HEX));
+        List<String> serializedScriptPubkeys = List.of(spentOutputs().get(0).getScriptPubkey().serialize(), spentOutputs().get(1).getScriptPubkey().serialize());
+        List<BigInteger> amounts = List.of(BigInteger.valueOf(600_000_000), BigInteger.valueOf(123_456_789));
+        String sigMsg = transaction.sigHashTaproot(0, serializedScriptPubkeys, amounts);
+        assertEquals("1422b72431c3a2113684ad22d58a952d3193b07ff8ee7ab8a43a93d5bcc5e610", Hex.toHexString(TaggedHash.hash("TapSighash", new byte[]{0}, Hex.decode(sigMsg))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("bip341KeyPathParameters")
+    public void bip341KeyPathSpending(int inputIndex, int hashType, String expectedSigHash) throws IOException {
+        TaprootSigHasher sigHasher = bip341Transaction().taprootSigHasher(bip341SpentOutputs());
+        assertEquals(expectedSigHash, Hex.toHexString(sigHasher.sigHash(inputIndex, hashType)));
+    }
+
+    @Test
+    public void bip341KeyPathSigMsg() throws IOException {
+        TaprootSigHasher sigHasher = bip341Transaction().taprootSigHasher(bip341SpentOutputs());
+        assertEquals(
+            "0003020000000065cd1de3b33bb4ef3a52ad1fffb555c0d82828eb22737036eaeb02a235d82b909c4c3f58a6964a4f5f8f0b642ded0a8a553be7622a719da71d1f5befcefcdee8e0fde623ad0f61ad2bca5ba6a7693f50fce988e17c3780bf2b1e720cfbb38fbdd52e2118959c7221ab5ce9e26c3cd67b22c24f8baa54bac281d8e6b05e400e6c3a957e0000000000d0418f0e9a36245b9a50ec87f8bf5be5bcae434337b87139c3a5b1f56e33cba0",
+            "00".concat(Hex.toHexString(sigHasher.sigMsg(0, 0x03, null, null, TaprootSigHasher.NO_CODE_SEPARATOR)))
+        );
+    }
+
+    private static Script tapscript() throws IOException {
+        return Script.fromByteStream(new ByteArrayInputStream(Hex.decode("22".concat(TAPSCRIPT))));
+    }
+
+    private static List<TransactionOutput> spentOutputs() throws IOException {
+        return List.of(
+            new TransactionOutput(600_000_000L, Script.fromByteStream(new ByteArrayInputStream(Hex.decode("225120" + "11".repeat(32))))),
+            new TransactionOutput(123_456_789L, Script.fromByteStream(new ByteArrayInputStream(Hex.decode("225120" + "22".repeat(32)))))
+        );
+    }
+
+    private static Transaction bip341Transaction() throws IOException {
+        return Transaction.fromBytes(Hex.decode(BIP341_TX_HEX.replace(BIP341_UNPARSEABLE_OUTPUT_SCRIPT, "00")));
+    }
+
+    private static List<TransactionOutput> bip341SpentOutputs() throws IOException {
+        return List.of(
+            bip341SpentOutput(420_000_000L, "512053a1f6e454df1aa2776a2814a721372d6258050de330b3c6d10ee8f4e0dda343"),
+            bip341SpentOutput(462_000_000L, "5120147c9c57132f6e7ecddba9800bb0c4449251c92a1e60371ee77557b6620f3ea3"),
+            bip341SpentOutput(294_000_000L, "76a914751e76e8199196d454941c45d1b3a323f1433bd688ac"),
+            bip341SpentOutput(504_000_000L, "5120e4d810fd50586274face62b8a807eb9719cef49c04177cc6b76a9a4251d5450e"),
+            bip341SpentOutput(630_000_000L, "512091b64d5324723a985170e4dc5a0f84c041804f2cd12660fa5dec09fc21783605"),
+            bip341SpentOutput(378_000_000L, "00147dd65592d0ab2fe0d0257d571abf032cd9db93dc"),
+            bip341SpentOutput(672_000_000L, "512075169f4001aa68f15bbed28b218df1d0a62cbbcf1188c6665110c293c907b831"),
+            bip341SpentOutput(546_000_000L, "5120712447206d7a5238acc7ff53fbe94a3b64539ad291c7cdbc490b7577e4b17df5"),
+            bip341SpentOutput(588_000_000L, "512077e30a5522dd9f894c3f8b8bd4c4b2cf82ca7da8a3ea6a239655c39c050ab220")
+        );
+    }
+
+    private static TransactionOutput bip341SpentOutput(long amount, String scriptPubkey) throws IOException {
+        byte[] script = Hex.decode(scriptPubkey);
+        ByteArrayInputStream stream = new ByteArrayInputStream(Hex.decode(Hex.toHexString(new byte[]{(byte) script.length}).concat(scriptPubkey)));
+        return new TransactionOutput(amount, Script.fromByteStream(stream));
+    }
+
+    private static Stream<Arguments> bip341KeyPathParameters() {
+        return Stream.of(
+            Arguments.of(0, 0x03, "2514a6272f85cfa0f45eb907fcb0d121b808ed37c6ea160a5a9046ed5526d555"),
+            Arguments.of(6, 0x02, "15f25c298eb5cdc7eb1d638dd2d45c97c4c59dcaec6679cfc16ad84f30876b85"),
+            Arguments.of(7, 0x82, "cd292de50313804dabe4685e83f923d2969577191a3e1d2882220dca88cbeb10")
+        );
+    }
+
+    private static Stream<Arguments> keyPathParameters() {
+        return Stream.of(
+            Arguments.of(0, 0x00, "1422b72431c3a2113684ad22d58a952d3193b07ff8ee7ab8a43a93d5bcc5e610"),
+            Arguments.of(1, 0x01, "cf954521d2e1f1f60f2c2e6d2868b131dbe9f8ded04f61f07b4fdcb856136276"),
+            Arguments.of(0, 0x02, "56deb70e5522e61d353adfdaee47d433cbd389b6f5b824b6c5d5e3ea66ce822d"),
+            Arguments.of(1, 0x03, "b5d43b6e760d71c21c392a6734093188f14b732a238bf69f99d6320d37738d22"),
+            Arguments.of(0, 0x81, "3102bfaed84b02896cecb2a9b5db5ef18184af80268132838d469e7bec03c21d"),
+            Arguments.of(1, 0x82, "b34343acec6972b327e40179d9ecf4de1ac537ba972c3e5d919f2cfa4a274ba3"),
+            Arguments.of(0, 0x83, "4c161a65135a3ee94beecbcbabc35e4666d0632e25edd398d0aea01cc6472fa1")
+        );
+    }
+}
@@ -0,0 +1,157 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static io.github.bitcoineducation.bitcoinjava.OpCodes.*;
+import static java.math.BigInteger.valueOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSignerTest {
+    @BeforeAll
+    public static void setup() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    public void signP2pkh() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d00000000ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000"));
+        TransactionSigner.sign(transaction, List.of(SigningInput.p2pkh(0, new PrivateKey(valueOf(8675309)))));
+        assertEquals("010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d0000006b4830450221008ed46aa2cf12d6d81065bfabe903670165b538f65ee9a3385e6327d80c66d3b502203124f804410527497329ec4715e18558082d489b218677bd029e7fa306a72236012103935581e52c354cd2f484fe8ed83af7a3097005b2f9c60bff71d35bd795f54b67ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000", transaction.serialize());
+    }
+
+    @Test
+    public void signNestedSegwit() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("0100000001db6b1b20aa0fd7b23880be2ecbd4a98130974cf4748fb66092ac4d3ceb1a54770100000000feffffff02b8b4eb0b000000001976a914a457b684d7f0d539a46a45bbc043f35b59d0d96388ac0008af2f000000001976a914fd270b1ee6abcaea97fea7ad0402e8bd8ad6d77c88ac92040000"));
+        PrivateKey privateKey = new PrivateKey(new BigInteger(1, Hex.decode("eb696a065ef48a2192da5b28b694f87544b30fae8327c4510137a922f32c6dcf")));
+        TransactionSigner.sign(transaction, List.of(SigningInput.p2shP2wpkh(0, privateKey, valueOf(1_000_000_000L))));
+        assertEquals("01000000000101db6b1b20aa0fd7b23880be2ecbd4a98130974cf4748fb66092ac4d3ceb1a5477010000001716001479091972186c449eb1ded22b78e40d009bdf0089feffffff02b8b4eb0b000000001976a914a457b684d7f0d539a46a45bbc043f35b59d0d96388ac0008af2f000000001976a914fd270b1ee6abcaea97fea7ad0402e8bd8ad6d77c88ac02473044022047ac8e878352d3ebbde1c94ce3a10d057c24175747116f8288e5d794d12d482f0220217f36a485cae903c713331d877c1f64677e3622ad4010726870540656fe9dcb012103ad1d8e89212f0b92c74d23bb710c00662ad1470198ac48c43f7d6f93a2a2687392040000", transaction.serialize());
+    }
+
+    @Test
+    public void signP2shMultisig() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("0100000001e3fa96238b5e17c5092cf6be70379472bbaf2f1f47312a0e0a23f90ddc243b090000000000ffffffff0180bb000000000000160014d446c3bd5edcef015b697a680b1af6a9c655e09600000000"));
+        PrivateKey privateKey1 = new PrivateKey(new BigInteger(1, Hex.decode("f06812134dcf4ce5bb0dabd7718b1528")));
+        PrivateKey privateKey2 = new PrivateKey(new BigInteger(1, Hex.decode("ad7abc3d183d499392cc43a12561c924")));
+        Script redeemScript = new Script(List.of(
+            valueOf(OP_2),
+            privateKey1.getPublicKey().compressedPublicKeyHex(),
+            privateKey2.getPublicKey().compressedPublicKeyHex(),
+            valueOf(OP_2), valueOf(OP_CHECKMULTISIG)
+        ));
+        TransactionSigner.sign(transaction, List.of(SigningInput.p2sh(0, List.of(privateKey1, privateKey2), redeemScript)));
+        assertEquals("0100000001e3fa96238b5e17c5092cf6be70379472bbaf2f1f47312a0e0a23f90ddc243b0900000000da00473044022007de61705591da6a052eb0f8d81c6aaa7f6f9e3221f02888385a97dddfec54a702201890610422899a7256bd152ed3587c1905ba84bd3e91a9babd31be2d311fb9d001483045022100bec53fff656f7a7f5c37c88cb520d3bfd20ad9ec91b39a11bbee820dbda2fa1302205a31a2599fadeb456f08990373364e7bf18be303ad36a42a7b4c3df6f19e3bcd0147522103180f6fd4ef4f0af7031d26112c58cd5d9afb6ced783c51dc10f4ec5ef16345322102f80764440872c6d3e7cd81e41082ac53d2c8e4beb5b6dc8f98584024f75eb8f552aeffffffff0180bb000000000000160014d446c3bd5edcef015b697a680b1af6a9c655e09600000000", transaction.serialize());
+    }
+
+    @Test
+    public void signP2wshMultisig() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("0100000000010119337379307b03a59496cf15dfd05036c3bd1797ac021d9dc857eb9c93ae71840100000000ffffffff01d07e0100000000002200205f7fe05a32c991d0de09ed75609d839d8c304a6f4ce57924a3acc8d3f1c197d60000000000"));
+        PrivateKey privateKey1 = new PrivateKey(new BigInteger(1, Hex.decode("75a0c09158b643779a11e3e2c512e1c1")));
+        PrivateKey privateKey2 = new PrivateKey(new BigInteger(1, Hex.decode("b590963c9f1543c88207509e4e98a086")));
+        Script witnessScript = new Script(List.of(valueOf(OP_1), privateKey1.getPublicKey().compressedPublicKeyHex(), privateKey2.getPublicKey().compressedPublicKeyHex(), valueOf(OP_2), valueOf(OP_CHECKMULTISIG)));
+        TransactionSigner.sign(transaction, List.of(SigningInput.p2wsh(0, List.of(privateKey1), witnessScript, valueOf(100_000))));
+        assertEquals("0100000000010119337379307b03a59496cf15dfd05036c3bd1797ac021d9dc857eb9c93ae71840100000000ffffffff01d07e0100000000002200205f7fe05a32c991d0de09ed75609d839d8c304a6f4ce57924a3acc8d3f1c197d60300483045022100bae81df3c4dfc0b05db401f299b9ce211b7c22559e7431cbeb24c3a7a39d2e2102206eb4e450999658b7cfeb21444d1dd9940ae6cbd4638123bd47fdd6bba4de066f0147512103812f5f8f94738078f36c3516cfd8444dba18f447104215efa1f9e9e165c7a98e21023dedc63f46164527339ed37d4a1e63d361629968ca1ab21d159e79641356272a52ae00000000", transaction.serialize());
+    }
+
+    @Test
+    public void signMixedInputsConcurrently() throws IOException {
+        int inputsPerType = 20;
+        List<PrivateKey> privateKeys = new ArrayList<>();
+        ArrayList<TransactionInput> inputs = new ArrayList<>();
+        for (int i = 0; i < inputsPerType * 3; i++) {
+            privateKeys.add(new PrivateKey(valueOf(1_000 + i)));
+            inputs.add(new TransactionInput(Bytes.reverseToHex(Sha256.hash(new byte[]{(byte) i})), i, new Script(new ArrayList<>()), 0xfffffffdL));
+        }
+        ArrayList<TransactionOutput> outputs = new ArrayList<>(List.of(new TransactionOutput(50_000L, Script.p2wpkhScript(Hash160.hashToHex(privateKeys.get(0).getPublicKey().getCompressedPublicKey())))));
+        Transaction transaction = new Transaction(2L, inputs, outputs, 0L, true);
+        Transaction expectedTransaction = Transaction.fromBytes(transaction.toBytes());
+
+        List<SigningInput> signingInputs = new ArrayList<>();
+        List<TransactionOutput> spentOutputs = new ArrayList<>();
+        List<BigInteger> amounts = new ArrayList<>();
+        List<Script> scripts = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            PrivateKey privateKey = privateKeys.get(i);
+            String hash160Pubkey = Hash160.hashToHex(privateKey.getPublicKey().getCompressedPublicKey());
+            Script scriptPubkey;
+            if (i % 3 == 0) {
+                signingInputs.add(SigningInput.p2pkh(i, privateKey));
+                scriptPubkey = Script.p2pkhScript(hash160Pubkey);
+            } else if (i % 3 == 1) {
+                signingInputs.add(SigningInput.p2wpkh(i, privateKey, valueOf(10_000 + i)));
+                scriptPubkey = Script.p2wpkhScript(hash160Pubkey);
+            } else {
+                signingInputs.add(SigningInput.p2tr(i, privateKey));
+                scriptPubkey = Script.p2trScript(privateKey.getPublicKey().getXHex());
+            }
+            spentOutputs.add(new TransactionOutput(valueOf(10_000 + i), scriptPubkey));
+            amounts.add(valueOf(10_000 + i));
+            scripts.add(scriptPubkey);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            TransactionSigner.sign(transaction, signingInputs, spentOutputs, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < inputs.size(); i++) {
+            if (i % 3 == 0) {
+                TransactionECDSASigner.sign(expectedTransaction, privateKeys.get(i), i, null, false);
+            } else if (i % 3 == 1) {
+                TransactionECDSASigner.sign(expectedTransaction, privateKeys.get(i), i, valueOf(10_000 + i), true);
+            }
+        }
+        for (int i = 0; i < inputs.size(); i++) {
+            TransactionInput input = transaction.getInputs().get(i);
+            TransactionInput expectedInput = expectedTransaction.getInputs().get(i);
+            if (i % 3 != 2) {
+                assertEquals(expectedInput.serialize(), input.serialize());
+                assertEquals(expectedInput.getWitness().serialize(), input.getWitness().serialize());
+                continue;
+            }
+            String sigMsg = expectedTransaction.sigHashTaproot(i, scripts.stream().map(script -> {
+                try {
+                    return script.serialize();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).collect(Collectors.toList()), amounts);
+            byte[] sigHash = TaggedHash.hash("TapSighash", new byte[]{0}, Hex.decode(sigMsg));
+            String signature = (String) input.getWitness().getItems().get(0);
+            assertTrue(SchnorrSigner.verify(privateKeys.get(i).getPublicKey().getX(), new BigInteger(1, sigHash), new BigInteger(1, Hex.decode(signature))));
+        }
+    }
+
+    @Test
+    public void failedSigningLeavesTransactionUntouched() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d00000000ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000"));
+        String unsignedTransaction = transaction.serialize();
+        PrivateKey privateKey = new PrivateKey(valueOf(8675309));
+        assertThrows(IllegalArgumentException.class, () -> TransactionSigner.sign(transaction, List.of(SigningInput.p2pkh(0, privateKey), SigningInput.p2pkh(1, privateKey))));
+        assertEquals(unsignedTransaction, transaction.serialize());
+    }
+
+    @Test
+    public void rejectInvalidSigningInputs() throws IOException {
+        Transaction transaction = Transaction.fromBytes(Hex.decode("010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d00000000ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000"));
+        String unsignedTransaction = transaction.serialize();
+        PrivateKey privateKey = new PrivateKey(valueOf(8675309));
+        assertThrows(IllegalArgumentException.class, () -> TransactionSigner.sign(transaction, List.of(SigningInput.p2pkh(0, privateKey), SigningInput.p2pkh(0, privateKey))));
+        assertThrows(IllegalArgumentException.class, () -> TransactionSigner.sign(transaction, List.of(SigningInput.p2pkh(-1, privateKey))));
+        assertThrows(IllegalArgumentException.class, () -> TransactionSigner.sign(transaction, List.of(SigningInput.p2wpkh(0, privateKey, null))));
+        assertThrows(IllegalArgumentException.class, () -> TransactionSigner.sign(transaction, List.of(SigningInput.p2shP2wpkh(0, privateKey, null))));
+        assertEquals(unsignedTransaction, transaction.serialize());
+    }
+}
@@ -8,15 +8,21 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static java.math.BigInteger.ZERO;
 import static java.math.BigInteger.valueOf;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TransactionTest {
     @ParameterizedTest
@@ -96,6 +102,18 @@ public class TransactionTest {
         assertEquals(expectedLocktime, transaction.getLocktime());
     }
 
+    @Test
+    public void parsePrimitiveFields() throws IOException {
+        String txHex = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
+        Transaction transaction = Transaction.fromByteStream(new ByteArrayInputStream(Hex.decode(txHex)));
+        assertEquals(1, transaction.getVersionAsLong());
+        assertEquals(410393, transaction.getLocktimeAsLong());
+        assertEquals(0, transaction.getInputs().get(0).getPreviousIndexAsLong());
+        assertEquals(0xfffffffeL, transaction.getInputs().get(0).getSequenceAsLong());
+        assertEquals(32454049, transaction.getOutputs().get(0).getAmountAsLong());
+        assertEquals(txHex, new Transaction(1, transaction.getInputs(), transaction.getOutputs(), 410393, false).serialize());
+    }
+
     @Test
     public void serialize() throws IOException {
         String txHex = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
@@ -160,6 +178,91 @@ public class TransactionTest {
         assertEquals(txHex, transaction.serialize());
     }
 
+    @ParameterizedTest
+    @MethodSource("testParameters")
+    public void toBytes(String txHex) throws IOException {
+        Transaction transaction = Transaction.fromByteStream(new ByteArrayInputStream(Hex.decode(txHex)));
+        assertArrayEquals(Hex.decode(txHex), transaction.toBytes());
+        assertEquals(txHex.length() / 2, transaction.getSize());
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        transaction.writeTo(byteArrayOutputStream);
+        assertArrayEquals(Hex.decode(txHex), byteArrayOutputStream.toByteArray());
+    }
+
+    @Test
+    public void bigIntegerConstructorsRejectOutOfRangeFields() {
+        String txId = "0d6fe5213c0b3291f208cba8bfb59b7476dffacc4e5cb66f6eb20a080843a299";
+        Script script = new Script(new ArrayList<>());
+        BigInteger maxSequence = valueOf(0xffffffffL);
+        TransactionInput input = new TransactionInput(txId, maxSequence, script, maxSequence);
+        assertEquals(maxSequence, input.getPreviousIndex());
+        assertEquals(maxSequence, input.getSequence());
+        assertThrows(IllegalArgumentException.class, () -> new TransactionInput(txId, valueOf(-1), script, maxSequence));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionInput(txId, ZERO, script, valueOf(0x100000000L)));
+        assertThrows(IllegalArgumentException.class, () -> new Transaction(valueOf(0x100000000L), new ArrayList<>(), new ArrayList<>(), ZERO, false));
+        assertThrows(IllegalArgumentException.class, () -> new Transaction(BigInteger.ONE, new ArrayList<>(), new ArrayList<>(), valueOf(-1), false));
+        assertThrows(ArithmeticException.class, () -> new TransactionOutput(BigInteger.ONE.shiftLeft(64), script));
+    }
+
+    @Test
+    public void hashesAfterFailedSerialization() throws IOException {
+        Security.addProvider(new BouncyCastleProvider());
+        String unsignedTxHex = "010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d00000000ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000";
+        Transaction transaction = Transaction.fromBytes(Hex.decode(unsignedTxHex));
+        String unsignedId = transaction.id();
+        ArrayList<Object> commands = new ArrayList<>();
+        commands.add(Hex.toHexString(new byte[521]));
+        transaction.getInputs().get(0).setScriptSig(new Script(commands));
+        RuntimeException exception = assertThrows(RuntimeException.class, transaction::id);
+        assertEquals("Command too long", exception.getMessage());
+
+        assertEquals("5df6e0e2761359d30a8275058e299fcc0381534545f55cf43e41983f5d4c9456", Hex.toHexString(Hash256.hash(new byte[0])));
+        transaction.getInputs().get(0).setScriptSig(new Script(new ArrayList<>()));
+        assertEquals(unsignedId, transaction.id());
+    }
+
+    @Test
+    public void idIsRecomputedAfterMutation() throws IOException {
+        Security.addProvider(new BouncyCastleProvider());
+        String unsignedTxHex = "010000000199a24308080ab26e6fb65c4eccfadf76749bb5bfa8cb08f291320b3c21e56f0d0d00000000ffffffff02408af701000000001976a914d52ad7ca9b3d096a38e752c2018e6fbc40cdf26f88ac80969800000000001976a914507b27411ccf7f16f10297de6cef3f291623eddf88ac00000000";
+        Transaction transaction = Transaction.fromBytes(Hex.decode(unsignedTxHex));
+        String unsignedId = transaction.id();
+        assertEquals(unsignedId, transaction.id());
+        assertEquals(unsignedId, transaction.wtxid());
+
+        TransactionECDSASigner.sign(transaction, new PrivateKey(valueOf(8675309)), 0, null, false);
+        String signedId = transaction.id();
+        assertNotEquals(unsignedId, signedId);
+        assertEquals(Transaction.fromBytes(transaction.toBytes()).id(), signedId);
+
+        transaction.getInputs().get(0).setScriptSig(new Script(new ArrayList<>()));
+        String emptyScriptSigId = transaction.id();
+        assertEquals(unsignedId, emptyScriptSigId);
+        transaction.getInputs().get(0).getScriptSig().appendCommand("00");
+        assertNotEquals(emptyScriptSigId, transaction.id());
+        assertEquals("020100", transaction.getInputs().get(0).getScriptSig().serialize());
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        transaction.writeTo(byteArrayOutputStream);
+        assertArrayEquals(transaction.toBytes(), byteArrayOutputStream.toByteArray());
+        assertThrows(UnsupportedOperationException.class, () -> transaction.getInputs().get(0).getScriptSig().getCommands().add("00"));
+        assertEquals(Transaction.fromBytes(transaction.toBytes()).id(), transaction.id());
+
+        transaction.getOutputs().remove(1);
+        assertEquals(Transaction.fromBytes(transaction.toBytes()).id(), transaction.id());
+    }
+
+    @Test
+    public void wtxid() throws IOException {
+        String txHex = "01000000000101076b57644e155af90f5d9f416b44a3794e0b982c2c427f0845c0e0c62fbb346f0000000000fdffffff0198eb100000000000160014934478b061fa4b5b4dba4f314fb380f3ef77e21902483045022100b7fcf54ae5d7c645b5b44ef7f846e95de9a97a099a447bf8daf14a46f5e3d464022025e709d6794a6fd5b69a7d271fc9a93fcc170b38cfbe5640b6c5d6ec88f021240121025330a1df68c516d32a87ea8ea3da573fa9d86b1b173875beecbf0bdbe45cba8cea7c0a00";
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        assertEquals(Bytes.reverseToHex(Hash256.hash(Hex.decode(txHex))), transaction.wtxid());
+        assertNotEquals(transaction.id(), transaction.wtxid());
+
+        transaction.getInputs().get(0).getWitness().appendItem("00");
+        assertEquals(Bytes.reverseToHex(Hash256.hash(transaction.toBytes())), transaction.wtxid());
+        assertThrows(UnsupportedOperationException.class, () -> transaction.getInputs().get(0).getWitness().getItems().add("00"));
+    }
+
     @Test
     public void sigHash() throws IOException {
         String txHex = "0100000001813f79011acb80925dfe69b3def355fe914bd1d96a3f5f71bf8303c6a989c7d1000000006b483045022100ed81ff192e75a3fd2304004dcadb746fa5e24c5031ccfcf21320b0277457c98f02207a986d955c6e0cb35d446a89d3f56100f4d7f67801c31967743a9c8e10615bed01210349fc4e631e3624a545de3f89f5d8684c7b8138bd94bdd531d2e213bf016b278afeffffff02a135ef01000000001976a914bc3b654dca7e56b04dca18f2566cdaf02e8d9ada88ac99c39800000000001976a9141c4bc762dd5423e332166702cb75f40df79fea1288ac19430600";
@@ -169,6 +272,24 @@ public class TransactionTest {
         assertEquals(expectedSighash, transaction.sigHash(0, Script.fromByteStream(new ByteArrayInputStream(Hex.decode(scriptPubkeyHex)))));
     }
 
+    @ParameterizedTest
+    @MethodSource("sigHashTypesParameters")
+    public void sigHashTypes(int inputIndex, BigInteger sigHashType, String expectedSighash) throws IOException {
+        String txHex = "0100000002fff7f7881a8099afa6940d42d1e7f6362bec38171ea3edf433541db4e4ad969f0000000000eeffffffef51e1b804cc89d182d279655c3aa89e815b1b309fe287d9b2b55d57b90ec68a0100000000ffffffff02202cb206000000001976a9148280b37df378db99f66f85c95a783a76ac7a6d5988ac9093510d000000001976a9143bde42dbee7e4dbe6a21b2d50ce2f0167faa815988ac11000000";
+        Script scriptPubkey = Script.fromByteStream(new ByteArrayInputStream(Hex.decode("1976a914a802fc56c704ce87c42d7c92eb75e7896bdc41ae88ac")));
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        assertEquals(expectedSighash, transaction.sigHash(inputIndex, scriptPubkey, sigHashType));
+    }
+
+    @Test
+    public void sigHashSingleWithoutMatchingOutput() throws IOException {
+        String txHex = "0100000002fff7f7881a8099afa6940d42d1e7f6362bec38171ea3edf433541db4e4ad969f0000000000eeffffffef51e1b804cc89d182d279655c3aa89e815b1b309fe287d9b2b55d57b90ec68a0100000000ffffffff02202cb206000000001976a9148280b37df378db99f66f85c95a783a76ac7a6d5988ac9093510d000000001976a9143bde42dbee7e4dbe6a21b2d50ce2f0167faa815988ac11000000";
+        Script scriptPubkey = Script.fromByteStream(new ByteArrayInputStream(Hex.decode("1976a914a802fc56c704ce87c42d7c92eb75e7896bdc41ae88ac")));
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        transaction.getOutputs().remove(1);
+        assertEquals("0100000000000000000000000000000000000000000000000000000000000000", transaction.sigHash(1, scriptPubkey, SigHashTypes.SIGHASH_SINGLE));
+    }
+
     @Test
     public void sigHashNestedSegwit() throws IOException {
         Security.addProvider(new BouncyCastleProvider());
@@ -192,6 +313,29 @@ public class TransactionTest {
         assertEquals(expectedSighash, transaction.sigHashSegwit(1, Script.p2pkhScript(hash160Pubkey).serializeForSegwitSigHash(), amount));
     }
 
+    @ParameterizedTest
+    @MethodSource("sigHashSegwitTypesParameters")
+    public void sigHashSegwitTypes(BigInteger sigHashType, String expectedSighash) {
+        String txHex = "010000000136641869ca081e70f394c6948e8af409e18b619df2ed74aa106c1ca29787b96e0100000000ffffffff0200e9a435000000001976a914389ffce9cd9ae88dcc0631e88a821ffdbe9bfe2688acc0832f05000000001976a9147480a33f950689af511e6e84c138dbbd3c3ee41588ac00000000";
+        String witnessScript = "56210307b8ae49ac90a048e9b53357a2354b3334e9c8bee813ecb98e99a7e07e8c3ba32103b28f0c28bfab54554ae8c658ac5c3e0ce6e79ad336331f78c428dd43eea8449b21034b8113d703413d57761b8b9781957b8c0ac1dfe69f492580ca4195f50376ba4a21033400f6afecb833092a9a21cfdf1ed1376e58c5d1f47de74683123987e967a8f42103a6d48b1131e94ba04d9737d61acdaa1322008af9602b3b14862c07a1789aac162102d8b661b0b3302ee2f162b09e07a55ad5dfbe673a9f01d9260c2258e6ea0fe0a156ae";
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        assertEquals(expectedSighash, transaction.sigHashSegwit(0, "cf".concat(witnessScript), valueOf(987_654_321), sigHashType));
+        assertArrayEquals(Hex.decode(expectedSighash), transaction.segwitSigHasher().sigHash(0, Hex.decode(witnessScript), 987_654_321, sigHashType.intValue()));
+    }
+
+    @Test
+    public void segwitSigHasherIsRebuiltAfterOutputChange() throws IOException {
+        String txHex = "0100000002fff7f7881a8099afa6940d42d1e7f6362bec38171ea3edf433541db4e4ad969f0000000000eeffffffef51e1b804cc89d182d279655c3aa89e815b1b309fe287d9b2b55d57b90ec68a0100000000ffffffff02202cb206000000001976a9148280b37df378db99f66f85c95a783a76ac7a6d5988ac9093510d000000001976a9143bde42dbee7e4dbe6a21b2d50ce2f0167faa815988ac11000000";
+        String scriptCode = Script.p2pkhScript("141d0f172a0ecb48aee1be1f2687d2963ae33f71a1").serializeForSegwitSigHash();
+        Transaction transaction = Transaction.fromBytes(Hex.decode(txHex));
+        SegwitSigHasher sigHasher = transaction.segwitSigHasher();
+        transaction.getInputs().get(0).setWitness(new Witness(new ArrayList<>(List.of("00"))));
+        assertSame(sigHasher, transaction.segwitSigHasher());
+        String sigHash = transaction.sigHashSegwit(1, scriptCode, valueOf(600_000_000));
+        transaction.getOutputs().remove(1);
+        assertNotEquals(sigHash, transaction.sigHashSegwit(1, scriptCode, valueOf(600_000_000)));
+    }
+
     @ParameterizedTest
     @MethodSource("testVSizeParameters")
     public void testVSize(String txHex, int lengthWithoutWitness) throws IOException {
@@ -210,6 +354,31 @@ public class TransactionTest {
         assertEquals(expectedVSize, transaction.getVSize());
     }
 
+    private static Stream<Arguments> sigHashTypesParameters() {
+        return Stream.of(
+            Arguments.of(0, SigHashTypes.SIGHASH_ALL, "a97043fcc57f5f69548568b96ce1e2cac2f0557c82e9def0d42f1ab1be4d5ec6"),
+            Arguments.of(1, SigHashTypes.SIGHASH_ALL, "3c5b31d0eb47c0ecb93ba1f4356793cd2c40f56b397e24832d698d5d904f6041"),
+            Arguments.of(0, SigHashTypes.SIGHASH_NONE, "04ef8ce6395a9fda81da5aa70fb4f254b257bdbdfd6ce15955ac3fe6ada8be3a"),
+            Arguments.of(1, SigHashTypes.SIGHASH_NONE, "9187fd3200455d08280a0edfc2707f528363e02ab1ca00425f037426db00d5cf"),
+            Arguments.of(0, SigHashTypes.SIGHASH_SINGLE, "67660d48626f213c430769579e310ea406d7685d1a6fc06e68889bd873e6eb0a"),
+            Arguments.of(1, SigHashTypes.SIGHASH_SINGLE, "e913c4b88f022b485b971bd72ad5089963e939ff4f7adbf876e2443ca2a13a8c"),
+            Arguments.of(0, SigHashTypes.SIGHASH_ALL.or(SigHashTypes.SIGHASH_ANYONECANPAY), "cc78ef24f2b7aebee0351eee16aa4940eaab44f92969a2cf69fe04c95e985be3"),
+            Arguments.of(1, SigHashTypes.SIGHASH_NONE.or(SigHashTypes.SIGHASH_ANYONECANPAY), "68b618d1c6c427b45a8215aa55c604d9a10f5ec6f216374151e40050c816fedf"),
+            Arguments.of(1, SigHashTypes.SIGHASH_SINGLE.or(SigHashTypes.SIGHASH_ANYONECANPAY), "9892397961db51984b4530b44c8cd7d1a3a167e5dfc22d9af4063f72cced36dc")
+        );
+    }
+
+    private static Stream<Arguments> sigHashSegwitTypesParameters() {
+        return Stream.of(
+            Arguments.of(SigHashTypes.SIGHASH_ALL, "22f35a7c5f13fd81ea56fef3f2b5f779b9900a314638a197d2c1599346bb2134"),
+            Arguments.of(SigHashTypes.SIGHASH_NONE, "f1d97f643663ab090b8731a4e76400fc6ee669f2c12ad37c7c95091a74b436db"),
+            Arguments.of(SigHashTypes.SIGHASH_SINGLE, "455b0c37ed1bba244d3ec9e20723e943ba1fed48097cc47c9a627763c6293b8f"),
+            Arguments.of(SigHashTypes.SIGHASH_ALL.or(SigHashTypes.SIGHASH_ANYONECANPAY), "80ec4e0c7e5ead3dbe3b5f4edc44bb164ae40184dd389a501a6a6d9d29d26c46"),
+            Arguments.of(SigHashTypes.SIGHASH_NONE.or(SigHashTypes.SIGHASH_ANYONECANPAY), "df7c3712fbac3a7da840557cfd5983f0dffe3302929e88d83136f52e872f18fa"),
+            Arguments.of(SigHashTypes.SIGHASH_SINGLE.or(SigHashTypes.SIGHASH_ANYONECANPAY), "0dd79d995803b84ab7c6ff19d51c4a0a6d21bb5f4aa31782305af6b4e7831274")
+        );
+    }
+
     public static Stream<Arguments> testVSizeParameters() {
         return Stream.of(
             Arguments.of(
@@ -0,0 +1,115 @@
+import io.github.bitcoineducation.bitcoinjava.*;
+import io.github.bitcoineducation.bitcoinjava.AddressGenerator.AddressType;
+import io.github.bitcoineducation.bitcoinjava.WalletScanner.WalletOutput;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletScannerTest {
+    private static final MnemonicSeed MNEMONIC_SEED = new MnemonicSeed("abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about");
+
+    private static final String FUNDING_TX_ID = "37f67076d3da37ed0997056f8dde7a971248a68373b67e48095eda5457b77657";
+
+    private final ExtendedPubkey account = (ExtendedPubkey) MNEMONIC_SEED
+        .toMasterKey("", ExtendedKeyPrefixes.MAINNET_PREFIX.getPrivatePrefix())
+        .ckd("84'/0'/0'", false, ExtendedKeyPrefixes.MAINNET_PREFIX.getPublicPrefix());
+
+    @Test
+    public void scan() {
+        WalletScanner scanner = new WalletScanner(List.of(account), AddressType.P2WPKH, 5);
+        assertEquals(5, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+        assertEquals(5, scanner.getDerivedCount(0, WalletScanner.CHANGE_CHAIN));
+
+        Script foreign = Script.p2wpkhScript("0000000000000000000000000000000000000000");
+        Transaction first = transaction(FUNDING_TX_ID, 0, output(10_000, receive(4)), output(20_000, foreign));
+        List<WalletOutput> received = scanner.scan(first);
+        assertEquals(1, received.size());
+        assertEquals(new OutPoint(first.txId(), 0), received.get(0).getOutPoint());
+        assertEquals(4, received.get(0).getAddress().getIndex());
+        assertEquals(5, scanner.getNextUnusedIndex(0, WalletScanner.RECEIVE_CHAIN));
+        assertEquals(10, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+        assertNull(scanner.findAddress(foreign));
+
+        Transaction second = transaction(FUNDING_TX_ID, 1, output(30_000, receive(8)), output(40_000, change(0)));
+        assertEquals(2, scanner.scan(second).size());
+        assertEquals(14, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+        assertEquals(6, scanner.getDerivedCount(0, WalletScanner.CHANGE_CHAIN));
+        assertEquals(BigInteger.valueOf(80_000), scanner.getBalance());
+
+        Transaction spend = transaction(first.txId().toHex(), 0, output(9_000, foreign));
+        assertTrue(scanner.scan(spend).isEmpty());
+        assertTrue(scanner.isSpent(new OutPoint(first.txId(), 0)));
+        assertEquals(1, scanner.getSpentOutPoints().size());
+        assertEquals(2, scanner.getUnspentOutputs().size());
+        assertEquals(BigInteger.valueOf(70_000), scanner.getBalance());
+
+        assertTrue(scanner.scan(List.of(first, second, spend)).isEmpty());
+        assertEquals(BigInteger.valueOf(70_000), scanner.getBalance());
+    }
+
+    @Test
+    public void scanRawTransactions() {
+        WalletScanner scanner = new WalletScanner(List.of(account), AddressType.P2WPKH, 3);
+        Transaction first = transaction(FUNDING_TX_ID, 0, output(1_000, receive(2)), output(2_000, receive(4)));
+        List<WalletOutput> received = scanner.scan(RawTransaction.parse(first.toBytes()));
+        assertEquals(2, received.size());
+        assertEquals(new OutPoint(first.txId(), 1), received.get(1).getOutPoint());
+        assertEquals(BigInteger.valueOf(2_000), received.get(1).getAmount());
+        assertEquals(8, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+
+        Transaction spend = transaction(first.txId().toHex(), 1, output(1_500, change(0)));
+        assertEquals(1, scanner.scan(RawTransaction.parse(spend.toBytes())).size());
+        assertTrue(scanner.isSpent(new OutPoint(first.txId(), 1)));
+        assertEquals(BigInteger.valueOf(2_500), scanner.getBalance());
+        assertTrue(scanner.scan(first).isEmpty());
+    }
+
+    @Test
+    public void outputsInsideExtendedGapAreFound() {
+        WalletScanner scanner = new WalletScanner(List.of(account), AddressType.P2WPKH, 3);
+        Transaction transaction = transaction(FUNDING_TX_ID, 0, output(1_000, receive(7)), output(2_000, receive(4)), output(3_000, receive(2)));
+        List<WalletOutput> received = scanner.scan(transaction);
+        assertEquals(3, received.size());
+        assertEquals(List.of(7L, 4L, 2L), List.of(received.get(0).getAddress().getIndex(), received.get(1).getAddress().getIndex(), received.get(2).getAddress().getIndex()));
+        assertEquals(new OutPoint(transaction.txId(), 0), received.get(0).getOutPoint());
+        assertEquals(8, scanner.getNextUnusedIndex(0, WalletScanner.RECEIVE_CHAIN));
+        assertEquals(11, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+        assertEquals(BigInteger.valueOf(6_000), scanner.getBalance());
+    }
+
+    @Test
+    public void outputsBeyondGapAreIgnored() {
+        WalletScanner scanner = new WalletScanner(List.of(account), AddressType.P2WPKH, 3);
+        assertTrue(scanner.scan(transaction(FUNDING_TX_ID, 0, output(1_000, receive(3)))).isEmpty());
+        assertEquals(3, scanner.getDerivedCount(0, WalletScanner.RECEIVE_CHAIN));
+        assertThrows(IllegalArgumentException.class, () -> new WalletScanner(List.of(account), AddressType.P2WPKH, 0));
+    }
+
+    private Script receive(long index) {
+        return chain(WalletScanner.RECEIVE_CHAIN).scriptPubkey(index);
+    }
+
+    private Script change(long index) {
+        return chain(WalletScanner.CHANGE_CHAIN).scriptPubkey(index);
+    }
+
+    private AddressGenerator chain(int chain) {
+        ExtendedPubkey chainPubkey = (ExtendedPubkey) account.ckd(BigInteger.valueOf(chain), false, false, account.getPrefix());
+        return new AddressGenerator(chainPubkey, AddressType.P2WPKH);
+    }
+
+    private static TransactionOutput output(long amount, Script scriptPubkey) {
+        return new TransactionOutput(amount, scriptPubkey);
+    }
+
+    private static Transaction transaction(String previousTxId, long previousIndex, TransactionOutput... outputs) {
+        ArrayList<TransactionInput> inputs = new ArrayList<>(List.of(
+            new TransactionInput(previousTxId, previousIndex, new Script(new ArrayList<>()), 0xffffffffL)
+        ));
+        return new Transaction(2, inputs, new ArrayList<>(List.of(outputs)), 0, false);
+    }
+}